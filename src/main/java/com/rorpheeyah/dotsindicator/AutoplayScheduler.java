@@ -0,0 +1,138 @@
+package com.rorpheeyah.dotsindicator;
+
+import android.view.Choreographer;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Process-wide autoplay clock. A single Choreographer frame callback advances every running indicator,
+ * and is only posted while at least one indicator is running.
+ */
+@MainThread
+final class AutoplayScheduler implements Choreographer.FrameCallback {
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
+    private static AutoplayScheduler instance;
+
+    interface Client {
+        /**
+         * @return time between two advances in milliseconds
+         */
+        long getAutoplayInterval();
+
+        /**
+         * @param progress value from [0, 1] of the time elapsed until the next advance
+         */
+        void onAutoplayProgress(float progress);
+
+        void onAutoplayAdvance();
+    }
+
+    private static final class Entry {
+        final Client client;
+        long elapsedNanos;
+
+        Entry(Client client) {
+            this.client = client;
+        }
+    }
+
+    private final List<Entry> entries = new ArrayList<>();
+    private Entry[] frameEntries = new Entry[0];
+    private long lastFrameTimeNanos;
+    private boolean posted;
+    private boolean inFrame;
+
+    static AutoplayScheduler getInstance() {
+        if (instance == null) {
+            instance = new AutoplayScheduler();
+        }
+        return instance;
+    }
+
+    private AutoplayScheduler() { }
+
+    void add(@NonNull Client client) {
+        if (indexOf(client) >= 0) {
+            return;
+        }
+
+        entries.add(new Entry(client));
+        frameEntries = entries.toArray(new Entry[0]);
+        if (!posted) {
+            posted = true;
+            lastFrameTimeNanos = 0;
+            if (!inFrame) {
+                Choreographer.getInstance().postFrameCallback(this);
+            }
+        }
+    }
+
+    void remove(@NonNull Client client) {
+        int index = indexOf(client);
+        if (index < 0) {
+            return;
+        }
+
+        entries.remove(index);
+        frameEntries = entries.toArray(new Entry[0]);
+        if (entries.isEmpty() && posted) {
+            posted = false;
+            if (!inFrame) {
+                Choreographer.getInstance().removeFrameCallback(this);
+            }
+        }
+    }
+
+    /**
+     * Start counting the interval again, after a page change the client did not trigger
+     */
+    void restart(@NonNull Client client) {
+        int index = indexOf(client);
+        if (index >= 0) {
+            entries.get(index).elapsedNanos = 0;
+            client.onAutoplayProgress(0);
+        }
+    }
+
+    @Override public void doFrame(long frameTimeNanos) {
+        long deltaNanos = lastFrameTimeNanos != 0 ? frameTimeNanos - lastFrameTimeNanos : 0;
+        lastFrameTimeNanos = frameTimeNanos;
+
+        // Clients added or removed by an advance are handled at the end of the frame
+        inFrame = true;
+        for (Entry entry : frameEntries) {
+            long intervalNanos = entry.client.getAutoplayInterval() * NANOS_PER_MILLI;
+            if (intervalNanos <= 0) {
+                continue;
+            }
+
+            entry.elapsedNanos += deltaNanos;
+            if (entry.elapsedNanos >= intervalNanos) {
+                entry.elapsedNanos = 0;
+                entry.client.onAutoplayProgress(0);
+                entry.client.onAutoplayAdvance();
+            } else {
+                entry.client.onAutoplayProgress((float) entry.elapsedNanos / intervalNanos);
+            }
+        }
+        inFrame = false;
+
+        if (posted) {
+            Choreographer.getInstance().postFrameCallback(this);
+        }
+    }
+
+    private int indexOf(Client client) {
+        for (int i = 0; i < entries.size(); i++) {
+            if (entries.get(i).client == client) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,1226 @@
+package com.rorpheeyah.dotsindicator;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.os.Parcelable;
+import android.util.AttributeSet;
+import android.view.KeyEvent;
+import android.view.MotionEvent;
+import android.view.View;
+
+import java.util.Arrays;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.view.ViewCompat;
+import androidx.dynamicanimation.animation.DynamicAnimation;
+import androidx.dynamicanimation.animation.FloatPropertyCompat;
+import androidx.dynamicanimation.animation.SpringAnimation;
+import androidx.dynamicanimation.animation.SpringForce;
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.tracing.Trace;
+import androidx.viewpager.widget.ViewPager;
+import androidx.viewpager2.widget.ViewPager2;
+
+/**
+ * The indicator View behind {@link DotsIndicator}, {@link SpringDotsIndicator}, {@link WormDotsIndicator} and
+ * {@link PageIndicatorView}. It binds the pager, runs the springs and wires the helpers: jumps, touch, accessibility,
+ * autoplay, labels, thumbnails, saved state and the debug overlay. The row itself is measured, drawn, hit and moved by
+ * an {@link IndicatorLook}, so there is no View nor state per dot whatever the look.
+ * <p>
+ * Auto-fit and sections are driven by {@link PageIndicatorView}, the dedicated indicators keep one row at the style size.
+ *
+ * @author Matt Rorpheeyah
+ */
+public abstract class BaseDotsIndicator extends View implements IndicatorStyle.Editable {
+    private static final int EDIT_MODE_PAGE_COUNT = 5;
+    private static final float SECTION_PAGES_SCALE = 0.6f;
+
+    private IndicatorStyle style;
+    private int type;
+    private IndicatorLook look;
+    private IndicatorLook baseLook;
+    private IndicatorLook sectionPagesLook;
+    private int[] palette;
+    private boolean dotsClickable;
+    private ScrollPredictor scrollPredictor;
+    private boolean autoFit;
+    private int autoFitMinSize;
+    private int autoFitMaxSize;
+    private int fitWidth = -1;
+    private int fitCount = -1;
+    private int fitSection = -1;
+    private int[] sectionStarts;
+    private int currentSection;
+    private boolean pointerOnSectionPages;
+    private PagerSource pagerSource;
+    private int currentPosition;
+    private float currentPositionOffset;
+    private int scrollState = PagerSource.SCROLL_STATE_IDLE;
+    private float indicatorX;
+    private float indicatorWidth;
+    private SpringAnimation indicatorXSpring;
+    private SpringAnimation indicatorWidthSpring;
+    private final RectF dotBounds = new RectF();
+
+    private DotsTouchHelper touchHelper;
+    private final Callbacks callbacks = new Callbacks();
+    private final PageDots pageDots = new PageDots();
+    private final PageSelector pageSelector = new PageSelector(callbacks);
+    private final DotsAccessibilityHelper accessibilityHelper = new DotsAccessibilityHelper(this, callbacks, pageSelector);
+    private final IndicatorAutoplay autoplay = new IndicatorAutoplay(this, pageSelector, callbacks);
+    private DotLabels dotLabels;
+    private DotThumbnails thumbnails;
+    private IndicatorDebugOverlay debugOverlay;
+    private IndicatorIdlingResource idlingResource;
+    private final DynamicAnimation.OnAnimationEndListener springEndListener = new DynamicAnimation.OnAnimationEndListener() {
+        @Override public void onAnimationEnd(DynamicAnimation animation, boolean canceled, float value, float velocity) {
+            notifyIfIdle();
+        }
+    };
+
+    private static final FloatPropertyCompat<BaseDotsIndicator> INDICATOR_X = new FloatPropertyCompat<BaseDotsIndicator>("IndicatorX") {
+        @Override public float getValue(BaseDotsIndicator indicator) {
+            return indicator.indicatorX;
+        }
+
+        @Override public void setValue(BaseDotsIndicator indicator, float value) {
+            indicator.indicatorX = value;
+            indicator.invalidate();
+        }
+    };
+
+    private static final FloatPropertyCompat<BaseDotsIndicator> INDICATOR_WIDTH = new FloatPropertyCompat<BaseDotsIndicator>("IndicatorWidth") {
+        @Override public float getValue(BaseDotsIndicator indicator) {
+            return indicator.indicatorWidth;
+        }
+
+        @Override public void setValue(BaseDotsIndicator indicator, float value) {
+            indicator.indicatorWidth = value;
+            indicator.invalidate();
+        }
+    };
+
+    private final PagerSource.Listener pagerListener = new PagerSource.Listener() {
+        @Override public void onPageCountChanged(int count) {
+            pageSelector.onPageCountChanged();
+            currentPosition = Math.min(currentPosition, Math.max(0, count - 1));
+            updateCurrentSection(currentPosition);
+            moveIndicator(false);
+            autoplay.update();
+            accessibilityHelper.invalidateRoot();
+            requestLayout();
+            invalidate();
+        }
+
+        @Override public void onPageScrolled(int position, float positionOffset, int positionOffsetPixels) {
+            if (pageSelector.skipFrame(position, positionOffset)) {
+                return;
+            }
+
+            Trace.beginSection("BaseDotsIndicator.onPageScrolled");
+            try {
+                if (scrollPredictor != null) {
+                    scrollPredictor.onScrolled(position, positionOffset);
+                }
+                currentPosition = position;
+                currentPositionOffset = positionOffset;
+                if (updateCurrentSection(position)) {
+                    // Only the inner row changes, its width may too
+                    requestLayout();
+                }
+                moveIndicator(true);
+                invalidate();
+            } finally {
+                Trace.endSection();
+            }
+        }
+
+        @Override public void onPageSelected(int position) {
+            autoplay.onPageSelected();
+            accessibilityHelper.onPageSelected(position);
+            if (scrollPredictor != null) {
+                scrollPredictor.onPageSelected(position);
+            }
+        }
+
+        @Override public void onPageScrollStateChanged(int state) {
+            scrollState = state;
+            pageSelector.onScrollStateChanged(state);
+            autoplay.onScrollStateChanged(state);
+            if (scrollPredictor != null) {
+                scrollPredictor.onScrollStateChanged(state);
+            }
+            notifyIfIdle();
+        }
+    };
+
+    /**
+     * @param style style resolved by the subclass, with its own defaults
+     * @param type {@link IndicatorRenderer#TYPE_DOTS}, {@link IndicatorRenderer#TYPE_SPRING}
+     *             or {@link IndicatorRenderer#TYPE_WORM}
+     */
+    BaseDotsIndicator(Context context, @Nullable AttributeSet attrs, int defStyleAttr, @NonNull IndicatorStyle style,
+                      int type) {
+        super(context, attrs, defStyleAttr);
+        this.type = type;
+        ViewCompat.setAccessibilityDelegate(this, accessibilityHelper);
+        setStyle(style);
+    }
+
+    @Override protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        if (pagerSource != null) {
+            pagerSource.addListener(pagerListener);
+            snapToPager();
+        }
+    }
+
+    @Override protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        if (pagerSource != null) {
+            pagerSource.removeListener(pagerListener);
+        }
+    }
+
+    @Override protected void onLayout(boolean changed, int left, int top, int right, int bottom) {
+        super.onLayout(changed, left, top, right, bottom);
+        if (debugOverlay != null) {
+            debugOverlay.onLayout();
+        }
+    }
+
+    @Override protected void onVisibilityChanged(@NonNull View changedView, int visibility) {
+        super.onVisibilityChanged(changedView, visibility);
+        if (autoplay != null) {
+            autoplay.updateShown();
+            notifyIfIdle();
+        }
+    }
+
+    @Override protected void onWindowVisibilityChanged(int visibility) {
+        super.onWindowVisibilityChanged(visibility);
+        if (autoplay != null) {
+            autoplay.updateShown();
+            notifyIfIdle();
+        }
+    }
+
+    @Override protected Parcelable onSaveInstanceState() {
+        IndicatorSavedState state = new IndicatorSavedState(super.onSaveInstanceState());
+        state.position = currentPosition;
+        state.positionOffset = currentPositionOffset;
+        return state;
+    }
+
+    @Override protected void onRestoreInstanceState(Parcelable state) {
+        if (!(state instanceof IndicatorSavedState)) {
+            super.onRestoreInstanceState(state);
+            return;
+        }
+
+        IndicatorSavedState savedState = (IndicatorSavedState) state;
+        super.onRestoreInstanceState(savedState.getSuperState());
+        snapToPosition(savedState.position, savedState.positionOffset);
+    }
+
+    @Override protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        int count = getPageCount();
+        if (autoFit && MeasureSpec.getMode(widthMeasureSpec) != MeasureSpec.UNSPECIFIED) {
+            int availableWidth = MeasureSpec.getSize(widthMeasureSpec) - getPaddingLeft() - getPaddingRight();
+            int section = sectionStarts != null ? currentSection : -1;
+            if (availableWidth != fitWidth || count != fitCount || section != fitSection) {
+                fitWidth = availableWidth;
+                fitCount = count;
+                fitSection = section;
+                buildLooks(fitStyle(availableWidth, count));
+            }
+        }
+
+        int width = getContentWidth() + getPaddingLeft() + getPaddingRight();
+        int height = getContentHeight() + getPaddingTop() + getPaddingBottom();
+        setMeasuredDimension(resolveSize(width, widthMeasureSpec), resolveSize(height, heightMeasureSpec));
+    }
+
+    /**
+     * The dots of every row first, then the thumbnails over them and the moving indicators over the thumbnails
+     */
+    @Override protected void onDraw(Canvas canvas) {
+        int count = getPageCount();
+        if (count == 0) {
+            return;
+        }
+
+        Trace.beginSection("BaseDotsIndicator.onDraw");
+        try {
+            drawRows(canvas, false);
+            if (thumbnails != null) {
+                int page = currentPosition - getPagesRowStart();
+                getPagesLook().getDotDrawBounds(page, page, 0, false, dotBounds);
+                thumbnails.draw(canvas, count, currentPosition, (int) dotBounds.width(), (int) dotBounds.height(),
+                        getPagesLook().getCornerRadius());
+            }
+            drawRows(canvas, true);
+            autoplay.draw(canvas, getPagesLook().getCornerRadius());
+            if (dotLabels != null) {
+                dotLabels.draw(canvas, getPagesRowStart(), getPagesRowCount());
+            }
+            if (debugOverlay != null) {
+                debugOverlay.draw(canvas, count, indicatorXSpring, indicatorWidthSpring);
+            }
+        } finally {
+            Trace.endSection();
+        }
+    }
+
+    /**
+     * @param indicators false to draw the dots of the rows, true to draw their moving indicators
+     */
+    private void drawRows(Canvas canvas, boolean indicators) {
+        int count = getMainRowCount();
+        int position = getMainRowPosition();
+        float positionOffset = getMainRowOffset();
+        int saveCount = canvas.save();
+        canvas.translate(getRowLeft(look, count), getContentTop());
+        if (!indicators) {
+            look.drawDots(canvas, count, position, positionOffset, isWrapping(position));
+        } else if (look.hasSprings()) {
+            look.drawIndicator(canvas, position, positionOffset, indicatorX, indicatorWidth);
+        } else {
+            drawIndicator(canvas, look, position, positionOffset, isWrapping(position));
+        }
+        canvas.restoreToCount(saveCount);
+
+        if (sectionStarts != null) {
+            int start = sectionStarts[currentSection];
+            int length = getSectionLength();
+            float pageOffset = currentPosition + 1 < start + length ? currentPositionOffset : 0;
+            saveCount = canvas.save();
+            canvas.translate(getRowLeft(sectionPagesLook, length), getSectionPagesTop());
+            if (!indicators) {
+                sectionPagesLook.drawDots(canvas, length, currentPosition - start, pageOffset, false);
+            } else {
+                drawIndicator(canvas, sectionPagesLook, currentPosition - start, pageOffset, false);
+            }
+            canvas.restoreToCount(saveCount);
+        }
+    }
+
+    /**
+     * An indicator without springs is drawn straight from the scroll
+     */
+    private static void drawIndicator(Canvas canvas, IndicatorLook rowLook, int position, float positionOffset,
+                                      boolean wrapping) {
+        rowLook.drawIndicator(canvas, position, positionOffset, rowLook.getIndicatorX(position, positionOffset, wrapping),
+                rowLook.getIndicatorWidth(position, positionOffset, wrapping));
+    }
+
+    @Override public boolean onTouchEvent(MotionEvent event) {
+        if (dotsClickable && isEnabled() && getPageCount() > 0) {
+            if (touchHelper == null) {
+                touchHelper = new DotsTouchHelper(this, callbacks);
+            }
+            if (event.getActionMasked() == MotionEvent.ACTION_DOWN) {
+                updatePointerRow(event);
+            }
+            return touchHelper.onTouchEvent(event);
+        }
+        return super.onTouchEvent(event);
+    }
+
+    @Override protected boolean dispatchHoverEvent(MotionEvent event) {
+        updatePointerRow(event);
+        return accessibilityHelper.dispatchHoverEvent(event) || super.dispatchHoverEvent(event);
+    }
+
+    @Override public boolean dispatchKeyEvent(KeyEvent event) {
+        return accessibilityHelper.dispatchKeyEvent(event) || super.dispatchKeyEvent(event);
+    }
+
+    @Override protected void onFocusChanged(boolean gainFocus, int direction, @Nullable Rect previouslyFocusedRect) {
+        super.onFocusChanged(gainFocus, direction, previouslyFocusedRect);
+        accessibilityHelper.onFocusChanged(gainFocus, direction, previouslyFocusedRect);
+    }
+
+    @Override public boolean performClick() {
+        return super.performClick();
+    }
+
+    /**
+     * With sections, the row under the pointer tells whether its dots are sections or pages
+     */
+    private void updatePointerRow(MotionEvent event) {
+        pointerOnSectionPages = sectionStarts != null && event.getY() >= getSectionPagesTop();
+    }
+
+    /**
+     * @return page of the dot under x in the row under the pointer, the first page of a section for a section dot
+     */
+    private int getPageAt(float x) {
+        if (sectionStarts != null && !pointerOnSectionPages) {
+            int sectionCount = getSectionCount();
+            int section = look.getDotIndexAt(x - getRowLeft(look, sectionCount), sectionCount, currentSection);
+            return section >= 0 ? sectionStarts[section] : -1;
+        }
+        return getPagesRowPageAt(x);
+    }
+
+    /**
+     * @return page of the dot under x in the row with a dot by page, the current section pages with sections
+     */
+    private int getPagesRowPageAt(float x) {
+        int start = getPagesRowStart();
+        int count = getPagesRowCount();
+        IndicatorLook pagesLook = getPagesLook();
+        int index = pagesLook.getDotIndexAt(x - getRowLeft(pagesLook, count), count, currentPosition - start);
+        return index >= 0 ? start + index : -1;
+    }
+
+    /**
+     * Slot of the dot of a page in the indicator coordinates, the section dot for a page outside the current section
+     */
+    private void getDotBounds(int page, @NonNull Rect out) {
+        int start = getPagesRowStart();
+        int count = getPagesRowCount();
+        if (page >= start && page < start + count) {
+            IndicatorLook pagesLook = getPagesLook();
+            pagesLook.getDotBounds(page - start, currentPosition - start, out);
+            out.offset(getRowLeft(pagesLook, count), getPagesRowTop());
+        } else {
+            int section = Arrays.binarySearch(sectionStarts, page);
+            look.getDotBounds(section >= 0 ? section : -section - 2, currentSection, out);
+            out.offset(getRowLeft(look, getSectionCount()), getContentTop());
+        }
+    }
+
+    /**
+     * Drawing of the dot of a page in the pages row for the scroll, in the indicator coordinates
+     */
+    private void getDotDrawBounds(int page, @NonNull RectF out) {
+        int start = getPagesRowStart();
+        int count = getPagesRowCount();
+        IndicatorLook pagesLook = getPagesLook();
+        int position = currentPosition - start;
+        float positionOffset = currentPosition + 1 < start + count || isWrapping(position) ? currentPositionOffset : 0;
+        pagesLook.getDotDrawBounds(page - start, position, positionOffset, isWrapping(position), out);
+        out.offset(getRowLeft(pagesLook, count), getPagesRowTop());
+    }
+
+    /**
+     * Bounds of the current page dot at rest in the indicator coordinates, in the pages row with sections
+     */
+    private void getCurrentDotBounds(@NonNull RectF out) {
+        int start = getPagesRowStart();
+        IndicatorLook pagesLook = getPagesLook();
+        pagesLook.getSelectedDotBounds(currentPosition - start, out);
+        out.offset(getRowLeft(pagesLook, getPagesRowCount()), getPagesRowTop());
+    }
+
+    /**
+     * Rows are centered in the padded area
+     */
+    private int getRowLeft(IndicatorLook rowLook, int count) {
+        int contentWidth = getWidth() - getPaddingLeft() - getPaddingRight();
+        return getPaddingLeft() + Math.max(0, (contentWidth - rowLook.getWidth(count)) / 2);
+    }
+
+    /**
+     * Width of the rows, without the padding
+     */
+    int getContentWidth() {
+        if (sectionStarts == null) {
+            return look.getWidth(getPageCount());
+        }
+        return Math.max(look.getWidth(getSectionCount()), sectionPagesLook.getWidth(getSectionLength()));
+    }
+
+    private int getContentTop() {
+        int contentHeight = getHeight() - getPaddingTop() - getPaddingBottom();
+        return getPaddingTop() + Math.max(0, (contentHeight - getContentHeight()) / 2);
+    }
+
+    private int getContentHeight() {
+        if (sectionStarts == null) {
+            return look.getHeight();
+        }
+        return look.getHeight() + getSectionGap() + sectionPagesLook.getHeight();
+    }
+
+    private int getSectionPagesTop() {
+        return getContentTop() + look.getHeight() + getSectionGap();
+    }
+
+    private int getSectionGap() {
+        return style.dotsSpacing * 2;
+    }
+
+    /**
+     * @return number of dots of the main row, sections or pages
+     */
+    private int getMainRowCount() {
+        return sectionStarts == null ? getPageCount() : getSectionCount();
+    }
+
+    private int getMainRowPosition() {
+        return sectionStarts == null ? currentPosition : currentSection;
+    }
+
+    /**
+     * The section dot only moves while the last page of the section scrolls to the next one
+     */
+    private float getMainRowOffset() {
+        if (sectionStarts == null) {
+            return currentPositionOffset;
+        }
+        return currentPosition + 1 == sectionStarts[currentSection] + getSectionLength() ? currentPositionOffset : 0;
+    }
+
+    /**
+     * The row with a dot by page, the current section pages with sections
+     */
+    private IndicatorLook getPagesLook() {
+        return sectionStarts == null ? look : sectionPagesLook;
+    }
+
+    /**
+     * @return first page of the pages row
+     */
+    private int getPagesRowStart() {
+        return sectionStarts == null ? 0 : sectionStarts[currentSection];
+    }
+
+    /**
+     * @return number of dots of the pages row
+     */
+    private int getPagesRowCount() {
+        return sectionStarts == null ? getPageCount() : getSectionLength();
+    }
+
+    private int getPagesRowTop() {
+        return sectionStarts == null ? getContentTop() : getSectionPagesTop();
+    }
+
+    /**
+     * Whether the last page is scrolling toward the first one of a looping source. Sections never wrap.
+     *
+     * @param position position in the main row
+     */
+    private boolean isWrapping(int position) {
+        int count = getPageCount();
+        return sectionStarts == null && pagerSource != null && pagerSource.isLooping() && count > 1
+                && position == count - 1;
+    }
+
+    /**
+     * @return number of sections starting before the last page
+     */
+    private int getSectionCount() {
+        return countSections(sectionStarts, getPageCount());
+    }
+
+    /**
+     * @return number of sections starting before pageCount, at least 1
+     */
+    static int countSections(@NonNull int[] sectionStarts, int pageCount) {
+        int index = Arrays.binarySearch(sectionStarts, pageCount);
+        return Math.max(1, index >= 0 ? index : -index - 1);
+    }
+
+    /**
+     * @return number of pages of the current section
+     */
+    private int getSectionLength() {
+        int end = currentSection + 1 < getSectionCount() ? sectionStarts[currentSection + 1] : getPageCount();
+        return Math.max(0, end - sectionStarts[currentSection]);
+    }
+
+    /**
+     * Step to the section of the page, from the current one since pages are crossed one at a time
+     *
+     * @return true if the section changed
+     */
+    private boolean updateCurrentSection(int position) {
+        if (sectionStarts == null) {
+            return false;
+        }
+
+        int section = findSection(sectionStarts, currentSection, position);
+        boolean changed = section != currentSection;
+        currentSection = section;
+        return changed;
+    }
+
+    /**
+     * Section of the page, stepping over the sections from fromSection
+     *
+     * @param fromSection section to step from, clamped to the sections
+     * @return last section starting at or before position, 0 if none does
+     */
+    static int findSection(@NonNull int[] sectionStarts, int fromSection, int position) {
+        int section = Math.max(0, Math.min(fromSection, sectionStarts.length - 1));
+        while (section + 1 < sectionStarts.length && position >= sectionStarts[section + 1]) {
+            section++;
+        }
+        while (section > 0 && position < sectionStarts[section]) {
+            section--;
+        }
+        return section;
+    }
+
+    private int getPageCount() {
+        if (pagerSource != null) {
+            return pagerSource.getPageCount();
+        }
+        return isInEditMode() ? EDIT_MODE_PAGE_COUNT : 0;
+    }
+
+    /**
+     * Place the indicator directly on the pager current item
+     */
+    private void snapToPager() {
+        snapToPosition(pagerSource.getCurrentItem(), 0);
+    }
+
+    /**
+     * Place the indicator on the given position without animation
+     */
+    private void snapToPosition(int position, float positionOffset) {
+        currentPosition = position;
+        currentPositionOffset = positionOffset;
+        updateCurrentSection(position);
+        moveIndicator(false);
+        requestLayout();
+        invalidate();
+    }
+
+    /**
+     * Aim the springs at the main row position, or place the spring dot or the worm on it without animation.
+     * While animating, the springs aim where a fling is heading when the scroll is predicted.
+     */
+    private void moveIndicator(boolean animate) {
+        if (!look.hasSprings()) {
+            return;
+        }
+
+        int position = getMainRowPosition();
+        float positionOffset = getMainRowOffset();
+        if (animate && scrollPredictor != null && sectionStarts == null && getPageCount() > 0) {
+            float targetPage = scrollPredictor.predict(position + positionOffset, 0, getPageCount() - 1);
+            position = (int) targetPage;
+            positionOffset = targetPage - position;
+        }
+        float x = look.getIndicatorX(position, positionOffset, isWrapping(position));
+        float width = look.getIndicatorWidth(position, positionOffset, isWrapping(position));
+        if (!animate) {
+            if (indicatorXSpring != null) {
+                indicatorXSpring.cancel();
+                indicatorXSpring.getSpring().setFinalPosition(x);
+                indicatorWidthSpring.cancel();
+                indicatorWidthSpring.getSpring().setFinalPosition(width);
+            }
+            indicatorX = x;
+            indicatorWidth = width;
+            return;
+        }
+
+        setUpSprings();
+        animateTo(indicatorXSpring, indicatorX, x);
+        animateTo(indicatorWidthSpring, indicatorWidth, width);
+    }
+
+    /**
+     * Only a spring away from its target runs, the spring dot never stretches so its width spring stays idle
+     */
+    private static void animateTo(SpringAnimation spring, float value, float target) {
+        if (spring.getSpring().getFinalPosition() != target) {
+            spring.getSpring().setFinalPosition(target);
+        }
+        if (!spring.isRunning() && value != target) {
+            spring.start();
+        }
+    }
+
+    /**
+     * The springs are only created once the indicator animates, with the stiffness and damping of the style
+     */
+    private void setUpSprings() {
+        if (indicatorXSpring != null) {
+            return;
+        }
+
+        indicatorXSpring = new SpringAnimation(this, INDICATOR_X);
+        SpringForce springForceX = new SpringForce(indicatorX);
+        springForceX.setDampingRatio(style.dampingRatio);
+        springForceX.setStiffness(style.stiffness);
+        indicatorXSpring.setSpring(springForceX);
+        indicatorXSpring.addEndListener(springEndListener);
+
+        indicatorWidthSpring = new SpringAnimation(this, INDICATOR_WIDTH);
+        SpringForce springForceWidth = new SpringForce(indicatorWidth);
+        springForceWidth.setDampingRatio(style.dampingRatio);
+        springForceWidth.setStiffness(style.stiffness);
+        indicatorWidthSpring.setSpring(springForceWidth);
+        indicatorWidthSpring.addEndListener(springEndListener);
+    }
+
+    /**
+     * Only the looks are rebuilt, the pager binding and position are kept
+     */
+    private void updateLooks() {
+        buildLooks(style);
+        baseLook = look;
+        fitWidth = -1;
+        requestLayout();
+        invalidate();
+    }
+
+    /**
+     * The current section pages use a smaller copy of the style. The springs are rebuilt for the new geometry
+     * and style, the indicator is placed on the current position.
+     */
+    private void buildLooks(IndicatorStyle rowStyle) {
+        look = IndicatorRenderer.createLook(rowStyle, type);
+        look.setPalette(palette);
+        sectionPagesLook = createSectionPagesLook(rowStyle);
+
+        if (indicatorXSpring != null) {
+            indicatorXSpring.cancel();
+            indicatorWidthSpring.cancel();
+            indicatorXSpring = null;
+            indicatorWidthSpring = null;
+        }
+        moveIndicator(false);
+    }
+
+    @Nullable
+    private IndicatorLook createSectionPagesLook(IndicatorStyle rowStyle) {
+        if (sectionStarts == null) {
+            return null;
+        }
+
+        IndicatorStyle pagesStyle = scaleStyle(rowStyle, getSectionPagesSize(rowStyle.dotsSize));
+        IndicatorLook pagesLook = IndicatorRenderer.createLook(getSectionPagesStyle(pagesStyle), type);
+        pagesLook.setPalette(palette);
+        return pagesLook;
+    }
+
+    private static int getSectionPagesSize(int rowSize) {
+        return Math.max(1, Math.round(rowSize * SECTION_PAGES_SCALE));
+    }
+
+    /**
+     * The section pages row has no springs, its indicator follows the scroll directly
+     */
+    private static IndicatorStyle getSectionPagesStyle(IndicatorStyle style) {
+        return style.directTracking ? style : style.buildUpon().setDirectTracking(true).build();
+    }
+
+    /**
+     * Largest dots size fitting the available width. The row width is linear in the dots size,
+     * count * (size + 2 * spacing) plus the stretched selected dot or the margins, when the spacing and margins
+     * scale with the size. Only the shadows keep a fixed width. The scaled spacing and margins are rounded to whole
+     * pixels, so the size then steps down while the rounded rows overflow, usually once. The steps are arithmetic
+     * only, the style is scaled once the size is found.
+     */
+    private IndicatorStyle fitStyle(int availableWidth, int count) {
+        if (count == 0 || style.dotsSize <= 0) {
+            return style;
+        }
+
+        float widthPerSize;
+        if (sectionStarts == null) {
+            widthPerSize = getWidthPerSize(count);
+        } else {
+            widthPerSize = Math.max(getWidthPerSize(getSectionCount()), getWidthPerSize(getSectionLength()) * SECTION_PAGES_SCALE);
+        }
+        int fixedWidth = type == IndicatorRenderer.TYPE_DOTS ? baseLook.getWidth(0) : 0;
+
+        int minSize = autoFitMinSize > 0 ? autoFitMinSize : Math.max(1, style.dotsSize / 4);
+        int maxSize = autoFitMaxSize > 0 ? autoFitMaxSize : style.dotsSize;
+        int size = fitDotsSize(availableWidth - fixedWidth, widthPerSize, minSize, maxSize);
+        while (size > minSize && getFitWidth(size) > availableWidth) {
+            size--;
+        }
+        return size == style.dotsSize ? style : scaleStyle(style, size);
+    }
+
+    /**
+     * Width of the rows with the dots scaled to size, as the looks of {@link #scaleStyle} would measure them
+     */
+    private int getFitWidth(int size) {
+        int spacing = scale(style.dotsSpacing, size, style.dotsSize);
+        int margin = scale(style.horizontalMargin, size, style.dotsSize);
+        if (sectionStarts == null) {
+            return getRowWidth(size, spacing, margin, getPageCount());
+        }
+
+        int pagesSize = getSectionPagesSize(size);
+        return Math.max(getRowWidth(size, spacing, margin, getSectionCount()),
+                getRowWidth(pagesSize, scale(spacing, pagesSize, size), scale(margin, pagesSize, size), getSectionLength()));
+    }
+
+    /**
+     * {@link IndicatorLook#getWidth} for the given dots size, spacing and margin
+     */
+    private int getRowWidth(int size, int spacing, int margin, int count) {
+        int step = size + spacing * 2;
+        if (type != IndicatorRenderer.TYPE_DOTS) {
+            return count * step + margin * 2;
+        }
+        int selectedExtra = style.allDots || count == 0 ? 0 : (int) (size + size * (style.dotsWidthFactor - 1)) - size;
+        return count * step + selectedExtra + baseLook.getWidth(0);
+    }
+
+    /**
+     * Largest dots size whose row fits the width, within the size range
+     *
+     * @param widthPerSize row width divided by the dots size
+     */
+    static int fitDotsSize(int availableWidth, float widthPerSize, int minSize, int maxSize) {
+        return Math.max(minSize, Math.min((int) (availableWidth / widthPerSize), maxSize));
+    }
+
+    /**
+     * Row width divided by the dots size, for count pages
+     */
+    private float getWidthPerSize(int count) {
+        float widthPerSize = count * (1 + 2f * style.dotsSpacing / style.dotsSize);
+        if (type == IndicatorRenderer.TYPE_DOTS) {
+            return widthPerSize + (style.allDots ? 0 : style.dotsWidthFactor - 1);
+        }
+        return widthPerSize + 2f * style.horizontalMargin / style.dotsSize;
+    }
+
+    /**
+     * Spacing, corners, stroke and margins scale with the dots size
+     */
+    private static IndicatorStyle scaleStyle(IndicatorStyle style, int size) {
+        return style.buildUpon()
+                .setDotsSize(size)
+                .setDotsSpacing(scale(style.dotsSpacing, size, style.dotsSize))
+                .setDotsCornerRadius(scale(style.dotsCornerRadius, size, style.dotsSize))
+                .setDotsStrokeWidth(style.dotsStrokeWidth > 0 ? Math.max(1, scale(style.dotsStrokeWidth, size, style.dotsSize)) : 0)
+                .setHorizontalMargin(scale(style.horizontalMargin, size, style.dotsSize))
+                .build();
+    }
+
+    private static int scale(int value, int size, int fromSize) {
+        return Math.round(value * ((float) size / fromSize));
+    }
+
+    /**
+     * Switch the look, the pager stays bound
+     */
+    void setType(int type) {
+        if (this.type != type) {
+            this.type = type;
+            updateLooks();
+        }
+    }
+
+    int getType() {
+        return type;
+    }
+
+    void setAutoFitEnabled(boolean autoFit) {
+        if (this.autoFit != autoFit) {
+            this.autoFit = autoFit;
+            updateLooks();
+        }
+    }
+
+    void setAutoFitRange(int minSize, int maxSize) {
+        autoFitMinSize = minSize;
+        autoFitMaxSize = maxSize;
+        fitWidth = -1;
+        requestLayout();
+    }
+
+    /**
+     * @param sectionStarts first page of each section, from 0 and increasing. null or empty for a dot by page.
+     */
+    void setSectionStarts(@Nullable int[] sectionStarts) {
+        if (sectionStarts != null && sectionStarts.length > 0) {
+            if (sectionStarts[0] != 0) {
+                throw new IllegalArgumentException("The first section must start at page 0");
+            }
+            for (int i = 1; i < sectionStarts.length; i++) {
+                if (sectionStarts[i] <= sectionStarts[i - 1]) {
+                    throw new IllegalArgumentException("Section starts must be increasing");
+                }
+            }
+            this.sectionStarts = sectionStarts.clone();
+        } else {
+            this.sectionStarts = null;
+        }
+
+        currentSection = 0;
+        updateCurrentSection(currentPosition);
+        accessibilityHelper.invalidateRoot();
+        updateLooks();
+    }
+
+    /**
+     * @param colors color by page of the selected dot or of the moving indicator, null for the style colors
+     */
+    void setPalette(@Nullable int[] colors) {
+        palette = colors != null && colors.length > 0 ? colors.clone() : null;
+        look.setPalette(palette);
+        if (sectionPagesLook != null) {
+            sectionPagesLook.setPalette(palette);
+        }
+        invalidate();
+    }
+
+    private DotLabels getDotLabels() {
+        if (dotLabels == null) {
+            dotLabels = new DotLabels(this, pageDots);
+        }
+        return dotLabels;
+    }
+
+    /**
+     * Take the attributes of a style that the helpers keep, the looks are rebuilt by the caller
+     */
+    private void readStyle(@NonNull IndicatorStyle style) {
+        this.style      = style;
+        dotsClickable   = style.dotsClickable;
+        pageSelector.setJumpThreshold(style.jumpThreshold);
+        if (style.scrollPrediction != (scrollPredictor != null)) {
+            scrollPredictor = style.scrollPrediction ? new ScrollPredictor() : null;
+        }
+        autoplay.setInterval(style.autoplayInterval);
+        autoplay.setProgressColor(style.progressColor);
+    }
+
+    private IndicatorStyle.Builder currentStyle() {
+        return style.buildUpon()
+                .setDotsClickable(dotsClickable)
+                .setJumpThreshold(pageSelector.getJumpThreshold())
+                .setAutoplayInterval((int) Math.min(autoplay.getAutoplayInterval(), Integer.MAX_VALUE))
+                .setProgressColor(autoplay.getProgressColor())
+                .setScrollPrediction(scrollPredictor != null);
+    }
+
+    /**
+     * Change any combination of style properties, then restyle the indicator once with
+     * {@link IndicatorStyle.Builder#apply()}.
+     */
+    @NonNull
+    public IndicatorStyle.Builder edit() {
+        return currentStyle().editing(this);
+    }
+
+    /**
+     * @return the style of the indicator, with the changes made by the individual setters
+     */
+    @NonNull
+    public IndicatorStyle getStyle() {
+        return currentStyle().build();
+    }
+
+    /**
+     * Restyle the indicator in one pass, the pager stays bound and the indicator is laid out and drawn once
+     */
+    @Override public void setStyle(@NonNull IndicatorStyle style) {
+        Trace.beginSection("BaseDotsIndicator.setStyle");
+        try {
+            readStyle(style);
+            updateLooks();
+        } finally {
+            Trace.endSection();
+        }
+    }
+
+    /**
+     * Advance to the next page every interval while the indicator is shown and the pager is idle,
+     * the current dot fills with the elapsed time.
+     *
+     * @param intervalMillis time between two pages, 0 to stop autoplay.
+     */
+    public void setAutoplayInterval(long intervalMillis) {
+        autoplay.setInterval(intervalMillis);
+        notifyIfIdle();
+    }
+
+    /**
+     * Set the color filling the current dot until the next autoplay advance.
+     */
+    public void setAutoplayProgressColor(int color) {
+        autoplay.setProgressColor(color);
+    }
+
+    /**
+     * Show a short label by page inside the dots, step numbers for instance. Labels are laid out once and cached.
+     *
+     * @param labels label by page, null to remove them.
+     */
+    public void setDotLabels(@Nullable String... labels) {
+        getDotLabels().setLabels(labels);
+    }
+
+    /**
+     * Draw the labels under the dots instead of inside them, the indicator grows to fit them
+     */
+    public void setDotLabelsBelow(boolean below) {
+        getDotLabels().setBelow(below);
+    }
+
+    /**
+     * @param textSize label text size in pixels, badges use a smaller size
+     */
+    public void setDotLabelTextSize(float textSize) {
+        getDotLabels().setTextSize(textSize);
+    }
+
+    public void setDotLabelColor(int color) {
+        getDotLabels().setTextColor(color);
+    }
+
+    /**
+     * Show an unread badge on the top right corner of a dot.
+     *
+     * @param count unread count, 0 to remove the badge.
+     */
+    public void setDotBadge(int page, int count) {
+        getDotLabels().setBadge(page, count);
+    }
+
+    public void setDotBadgeColor(int color) {
+        getDotLabels().setBadgeColor(color);
+    }
+
+    /**
+     * Show a preview of each page in its dot, like a filmstrip. Thumbnails are loaded off the main thread and
+     * kept downsampled to the dot size in a memory bounded cache shared by all indicators.
+     *
+     * Setting the same provider again reloads its thumbnails, see {@link #invalidateThumbnails()}.
+     *
+     * @param provider thumbnail by page, null to show plain dots.
+     */
+    public void setThumbnailProvider(@Nullable ThumbnailProvider provider) {
+        if (thumbnails != null && thumbnails.getProvider() == provider) {
+            invalidateThumbnails();
+            return;
+        }
+
+        if (thumbnails != null) {
+            thumbnails.release();
+        }
+        thumbnails = provider == null ? null : new DotThumbnails(this, provider, pageDots);
+        invalidate();
+    }
+
+    /**
+     * Reload the thumbnails, after the page images changed under the same keys.
+     */
+    public void invalidateThumbnails() {
+        if (thumbnails != null) {
+            thumbnails.invalidate();
+        }
+    }
+
+    /**
+     * @return an Espresso idling resource, idle once the springs have settled, the pager is at rest after a selection
+     * or jump and autoplay is stopped. Springs and autoplay run on real frames, see {@link IndicatorIdlingResource}.
+     */
+    @NonNull
+    public IndicatorIdlingResource getIdlingResource() {
+        if (idlingResource == null) {
+            idlingResource = new IndicatorIdlingResource(getClass().getSimpleName() + "@" + Integer.toHexString(System.identityHashCode(this)),
+                    new IndicatorIdlingResource.Host() {
+                        @Override public boolean isIdle() {
+                            return isSettled();
+                        }
+                    });
+        }
+        return idlingResource;
+    }
+
+    /**
+     * Nothing pending: no spring running, no selection or jump still scrolling the pager, no autoplay countdown
+     */
+    private boolean isSettled() {
+        boolean springsIdle = indicatorXSpring == null || !indicatorXSpring.isRunning() && !indicatorWidthSpring.isRunning();
+        return springsIdle && scrollState == PagerSource.SCROLL_STATE_IDLE && !pageSelector.isJumping()
+                && !autoplay.isRunning();
+    }
+
+    private void notifyIfIdle() {
+        if (idlingResource != null) {
+            idlingResource.onWorkEnd();
+        }
+    }
+
+    /**
+     * Settle the moving indicator on its target now rather than at the end of the springs, for tests
+     */
+    public void skipToEnd() {
+        if (indicatorXSpring == null) {
+            return;
+        }
+
+        if (indicatorXSpring.isRunning()) {
+            INDICATOR_X.setValue(this, indicatorXSpring.getSpring().getFinalPosition());
+            indicatorXSpring.cancel();
+        }
+        if (indicatorWidthSpring.isRunning()) {
+            INDICATOR_WIDTH.setValue(this, indicatorWidthSpring.getSpring().getFinalPosition());
+            indicatorWidthSpring.cancel();
+        }
+        notifyIfIdle();
+    }
+
+    /**
+     * Draw live counters over the indicator: dots, Views, layouts per second and spring state.
+     * Meant for debugging janky carousels together with the trace sections of the indicator.
+     */
+    public void setDebugOverlayEnabled(boolean enabled) {
+        debugOverlay = enabled ? new IndicatorDebugOverlay(this) : null;
+        invalidate();
+    }
+
+    /**
+     * Determine if the dots are clickable to go to a page directly.
+     *
+     * @param dotsClickable true if dots are clickable.
+     */
+    public void setDotsClickable(boolean dotsClickable) {
+        this.dotsClickable = dotsClickable;
+    }
+
+    /**
+     * Set the page distance beyond which a dot tap jumps instead of smooth-scrolling every page in between.
+     *
+     * @param jumpThreshold distance in pages, 0 to always smooth-scroll.
+     */
+    public void setJumpThreshold(int jumpThreshold) {
+        pageSelector.setJumpThreshold(jumpThreshold);
+    }
+
+    /**
+     * Move the spring dot or the worm straight with the scroll, in the same frame as the pager, instead of animating
+     * it with springs. The worm head and tail follow continuous curves of the scroll, the indicator never lags and
+     * stops with the pager, and no spring is created. The dots look always follows the scroll.
+     *
+     * @param directTracking true to follow the scroll without spring.
+     */
+    public void setDirectTracking(boolean directTracking) {
+        if (style.directTracking != directTracking) {
+            setStyle(currentStyle().setDirectTracking(directTracking).build());
+        }
+    }
+
+    /**
+     * Aim the spring dot or the worm where a fling is heading rather than where the pager is, from the scroll velocity
+     * and the page the pager settles on. The indicator lags less behind fast swipes without a stiffer spring.
+     *
+     * @param enabled true to predict the scroll.
+     */
+    public void setScrollPrediction(boolean enabled) {
+        if (enabled != (scrollPredictor != null)) {
+            scrollPredictor = enabled ? new ScrollPredictor() : null;
+        }
+    }
+
+    /**
+     * Attach ViewPager
+     */
+    public void setViewPager(ViewPager viewPager) {
+        setPagerSource(PagerSource.of(viewPager));
+    }
+
+    /**
+     * Attach ViewPager2
+     */
+    public void setViewPager2(ViewPager2 viewPager2) {
+        setPagerSource(PagerSource.of(viewPager2));
+    }
+
+    /**
+     * Attach a RecyclerView laid out as pages, typically with a PagerSnapHelper
+     */
+    public void setRecyclerView(RecyclerView recyclerView) {
+        setPagerSource(PagerSource.of(recyclerView));
+    }
+
+    /**
+     * Attach any scroll source, {@link ManualPagerSource} drives the indicator from raw progress
+     */
+    public void setPagerSource(@Nullable PagerSource pagerSource) {
+        if (this.pagerSource != null) {
+            this.pagerSource.removeListener(pagerListener);
+        }
+
+        this.pagerSource = pagerSource;
+        scrollState = PagerSource.SCROLL_STATE_IDLE;
+        if (pagerSource != null && isAttachedToWindow()) {
+            pagerSource.addListener(pagerListener);
+            snapToPager();
+        } else {
+            requestLayout();
+            invalidate();
+        }
+        autoplay.update();
+        accessibilityHelper.invalidateRoot();
+        notifyIfIdle();
+    }
+
+    /**
+     * Pages, slots and selection seen by the jump, touch, autoplay and accessibility helpers
+     */
+    private final class Callbacks implements PageSelector.Host, DotsTouchHelper.Host, IndicatorAutoplay.Host,
+            DotsAccessibilityHelper.Host {
+        @Nullable @Override public PagerSource getPagerSource() {
+            return pagerSource;
+        }
+
+        @Override public void onJump(int page) {
+            snapToPosition(page, 0);
+        }
+
+        @Override public int getDotIndexAt(float x) {
+            return getPageAt(x);
+        }
+
+        @Override public void onDotTouched(int index, boolean scrubbing) {
+            pageSelector.select(index, !scrubbing);
+        }
+
+        @Override public boolean getProgressBounds(@NonNull RectF out) {
+            if (BaseDotsIndicator.this.getPageCount() == 0) {
+                return false;
+            }
+
+            getCurrentDotBounds(out);
+            return true;
+        }
+
+        @Override public int getPageCount() {
+            return BaseDotsIndicator.this.getPageCount();
+        }
+
+        @Override public int getCurrentPage() {
+            return currentPosition;
+        }
+
+        @Override public void getDotBounds(int index, @NonNull Rect out) {
+            BaseDotsIndicator.this.getDotBounds(index, out);
+        }
+    }
+
+    /**
+     * The dots of the pages row as drawn for the scroll, under the labels, badges and thumbnails
+     */
+    private final class PageDots implements DotLabels.Host, DotThumbnails.Host {
+        @Override public int getDotIndexAt(float x) {
+            return getPagesRowPageAt(x);
+        }
+
+        @Override public void getDotViewBounds(int index, @NonNull RectF out) {
+            getDotDrawBounds(index, out);
+        }
+    }
+}
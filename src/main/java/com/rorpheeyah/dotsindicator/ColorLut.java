@@ -0,0 +1,72 @@
+package com.rorpheeyah.dotsindicator;
+
+import android.graphics.Color;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Precomputed color transitions, one row of {@link #STEPS} + 1 colors per page.
+ * <p>
+ * Rows are interpolated once when the colors change, a lookup during a swipe is an index computation
+ * with no boxing and no per-channel math.
+ */
+final class ColorLut {
+    static final int STEPS = 64;
+
+    private final int[] table;
+    private final int rows;
+
+    private ColorLut(@NonNull int[] from, @NonNull int[] to) {
+        rows = from.length;
+        table = new int[rows * (STEPS + 1)];
+        for (int row = 0; row < rows; row++) {
+            for (int step = 0; step <= STEPS; step++) {
+                table[row * (STEPS + 1) + step] = blend(from[row], to[row], (float) step / STEPS);
+            }
+        }
+    }
+
+    /**
+     * Each color fading to the same target, the selected dot of a page fading to the dots color
+     */
+    static ColorLut toward(@NonNull int[] colors, int target) {
+        int[] to = new int[colors.length];
+        for (int i = 0; i < colors.length; i++) {
+            to[i] = target;
+        }
+        return new ColorLut(colors, to);
+    }
+
+    /**
+     * Each color fading to the next one, the moving indicator crossing from a page to the next
+     */
+    static ColorLut cycle(@NonNull int[] colors) {
+        int[] to = new int[colors.length];
+        for (int i = 0; i < colors.length; i++) {
+            to[i] = colors[(i + 1) % colors.length];
+        }
+        return new ColorLut(colors, to);
+    }
+
+    /**
+     * @param page page of the row, rows repeat when the palette is shorter than the pages
+     * @param fraction value from [0, 1] from the row start color to its end color
+     */
+    int get(int page, float fraction) {
+        int step = (int) (fraction * STEPS + 0.5f);
+        if (step < 0) {
+            step = 0;
+        } else if (step > STEPS) {
+            step = STEPS;
+        }
+        return table[(page % rows) * (STEPS + 1) + step];
+    }
+
+    private static int blend(int from, int to, float fraction) {
+        return Color.argb(
+                (int) (Color.alpha(from) + (Color.alpha(to) - Color.alpha(from)) * fraction + 0.5f),
+                (int) (Color.red(from) + (Color.red(to) - Color.red(from)) * fraction + 0.5f),
+                (int) (Color.green(from) + (Color.green(to) - Color.green(from)) * fraction + 0.5f),
+                (int) (Color.blue(from) + (Color.blue(to) - Color.blue(from)) * fraction + 0.5f));
+    }
+}
@@ -0,0 +1,236 @@
+package com.rorpheeyah.dotsindicator;
+
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.os.Build;
+import android.text.Layout;
+import android.text.StaticLayout;
+import android.text.TextPaint;
+import android.util.LruCache;
+import android.util.SparseArray;
+import android.util.TypedValue;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Labels inside or under the dots and unread badges on some pages. Text is laid out once into a StaticLayout
+ * shared by every indicator through a cache keyed by text, size and color, so a frame only draws layouts.
+ * Only the dots inside the canvas clip are drawn, the layouts of the other ones are never built.
+ * The padding of the indicator grows by the room the labels and badges need, so they are not clipped.
+ */
+final class DotLabels {
+    private static final int CACHE_SIZE = 256;
+    private static final int MAX_BADGE_COUNT = 99;
+    private static final float BADGE_TEXT_SCALE = 0.75f;
+    private static final float DEFAULT_TEXT_SIZE_SP = 12;
+
+    /**
+     * LruCache is synchronized, layouts built by any indicator or thread are shared
+     */
+    private static final LruCache<String, StaticLayout> LAYOUT_CACHE = new LruCache<>(CACHE_SIZE);
+
+    interface Host {
+        /**
+         * @return index of the dot under x, or -1 if there is none
+         */
+        int getDotIndexAt(float x);
+
+        /**
+         * @param out bounds of the dot drawing in the indicator coordinates
+         */
+        void getDotViewBounds(int index, @NonNull RectF out);
+    }
+
+    private final View view;
+    private final Host host;
+    private final TextPaint labelPaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+    private final TextPaint badgeTextPaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint badgePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final SparseArray<StaticLayout> badgeLayouts = new SparseArray<>();
+    private final RectF dotBounds = new RectF();
+    private final RectF badgeBounds = new RectF();
+    private final Rect clipBounds = new Rect();
+
+    private String[] labels;
+    private StaticLayout[] labelLayouts;
+    private boolean below;
+    private int topExtent;
+    private int bottomExtent;
+
+    DotLabels(@NonNull View view, @NonNull Host host) {
+        this.view = view;
+        this.host = host;
+        labelPaint.setColor(Color.BLACK);
+        badgeTextPaint.setColor(Color.WHITE);
+        badgePaint.setColor(Color.RED);
+        setTextSize(TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_SP, DEFAULT_TEXT_SIZE_SP,
+                view.getResources().getDisplayMetrics()));
+    }
+
+    /**
+     * @param labels label by page, null to remove them
+     */
+    void setLabels(@Nullable String[] labels) {
+        this.labels = labels != null && labels.length > 0 ? labels.clone() : null;
+        labelLayouts = this.labels != null ? new StaticLayout[this.labels.length] : null;
+        update();
+    }
+
+    void setTextSize(float textSize) {
+        labelPaint.setTextSize(textSize);
+        badgeTextPaint.setTextSize(textSize * BADGE_TEXT_SCALE);
+        invalidateLayouts();
+        update();
+    }
+
+    void setTextColor(int color) {
+        labelPaint.setColor(color);
+        invalidateLayouts();
+        update();
+    }
+
+    void setBelow(boolean below) {
+        this.below = below;
+        update();
+    }
+
+    void setBadgeColor(int color) {
+        badgePaint.setColor(color);
+        update();
+    }
+
+    /**
+     * @param count unread count shown on the page, 0 to remove the badge
+     */
+    void setBadge(int page, int count) {
+        if (count <= 0) {
+            badgeLayouts.remove(page);
+        } else {
+            badgeLayouts.put(page, getLayout(count > MAX_BADGE_COUNT ? MAX_BADGE_COUNT + "+" : String.valueOf(count), badgeTextPaint));
+        }
+        update();
+    }
+
+    /**
+     * Move the padding by the change of room the badges need above the dots and the labels under them, then redraw
+     */
+    private void update() {
+        int top = badgeLayouts.size() > 0 ? getBadgeRadius() : 0;
+        int bottom = below && labels != null ? (int) Math.ceil(labelPaint.getFontSpacing()) + getLabelGap() : 0;
+        if (top != topExtent || bottom != bottomExtent) {
+            view.setPadding(view.getPaddingLeft(), view.getPaddingTop() + top - topExtent,
+                    view.getPaddingRight(), view.getPaddingBottom() + bottom - bottomExtent);
+            topExtent = top;
+            bottomExtent = bottom;
+        }
+        view.invalidate();
+    }
+
+    /**
+     * @param first page of the first drawn dot, the first page of the current section with sections
+     * @param count number of drawn dots from first
+     */
+    void draw(@NonNull Canvas canvas, int first, int count) {
+        if (count == 0 || !canvas.getClipBounds(clipBounds)) {
+            return;
+        }
+
+        // The neighbours of the clipped dots may have a label or badge wider than their slot
+        int start = Math.max(first, host.getDotIndexAt(clipBounds.left) - 1);
+        int end = Math.min(first + count - 1, host.getDotIndexAt(clipBounds.right) + 1);
+        for (int i = start; i <= end; i++) {
+            StaticLayout label = getLabelLayout(i);
+            StaticLayout badge = badgeLayouts.get(i);
+            if (label == null && badge == null) {
+                continue;
+            }
+
+            host.getDotViewBounds(i, dotBounds);
+            if (label != null) {
+                float top = below ? dotBounds.bottom + getLabelGap() : dotBounds.centerY() - label.getHeight() / 2f;
+                drawLayout(canvas, label, dotBounds.centerX() - label.getWidth() / 2f, top);
+            }
+            if (badge != null) {
+                drawBadge(canvas, badge, dotBounds.right, dotBounds.top);
+            }
+        }
+    }
+
+    /**
+     * Built on the first draw of its dot, then kept until the labels or their appearance change
+     */
+    @Nullable
+    private StaticLayout getLabelLayout(int index) {
+        if (labels == null || index >= labels.length || labels[index] == null || labels[index].isEmpty()) {
+            return null;
+        }
+
+        if (labelLayouts[index] == null) {
+            labelLayouts[index] = getLayout(labels[index], labelPaint);
+        }
+        return labelLayouts[index];
+    }
+
+    /**
+     * A pill centered on the dot top right corner, round for a single digit
+     */
+    private void drawBadge(Canvas canvas, StaticLayout badge, float centerX, float centerY) {
+        float radius = getBadgeRadius();
+        float halfWidth = Math.max(radius, badge.getWidth() / 2f + radius / 2);
+        badgeBounds.set(centerX - halfWidth, centerY - radius, centerX + halfWidth, centerY + radius);
+        canvas.drawRoundRect(badgeBounds, radius, radius, badgePaint);
+        drawLayout(canvas, badge, centerX - badge.getWidth() / 2f, centerY - badge.getHeight() / 2f);
+    }
+
+    private int getBadgeRadius() {
+        return (int) Math.ceil(badgeTextPaint.getFontSpacing() * 0.6f);
+    }
+
+    private int getLabelGap() {
+        return (int) (labelPaint.getTextSize() / 4);
+    }
+
+    private void invalidateLayouts() {
+        if (labelLayouts != null) {
+            labelLayouts = new StaticLayout[labelLayouts.length];
+        }
+        for (int i = 0; i < badgeLayouts.size(); i++) {
+            StaticLayout badge = badgeLayouts.valueAt(i);
+            badgeLayouts.put(badgeLayouts.keyAt(i), getLayout(badge.getText().toString(), badgeTextPaint));
+        }
+    }
+
+    private static void drawLayout(Canvas canvas, StaticLayout layout, float left, float top) {
+        int saveCount = canvas.save();
+        canvas.translate(left, top);
+        layout.draw(canvas);
+        canvas.restoreToCount(saveCount);
+    }
+
+    /**
+     * The layout keeps a copy of the paint, so the cached layouts never change with the indicator paints
+     */
+    @SuppressWarnings("deprecation")
+    private static StaticLayout getLayout(String text, TextPaint paint) {
+        String key = paint.getTextSize() + "|" + paint.getColor() + "|" + text;
+        StaticLayout layout = LAYOUT_CACHE.get(key);
+        if (layout == null) {
+            TextPaint layoutPaint = new TextPaint(paint);
+            int width = (int) Math.ceil(Layout.getDesiredWidth(text, layoutPaint));
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
+                layout = StaticLayout.Builder.obtain(text, 0, text.length(), layoutPaint, width)
+                        .setIncludePad(false)
+                        .build();
+            } else {
+                layout = new StaticLayout(text, layoutPaint, width, Layout.Alignment.ALIGN_NORMAL, 1, 0, false);
+            }
+            LAYOUT_CACHE.put(key, layout);
+        }
+        return layout;
+    }
+}
@@ -0,0 +1,91 @@
+package com.rorpheeyah.dotsindicator;
+
+import android.graphics.Bitmap;
+import android.graphics.BlurMaskFilter;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.RectF;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Shadow of a dot, blurred once in a small bitmap and stretched under every dot of the row.
+ * An elevated indicator costs one bitmap draw per dot instead of one outline shadow per dot View.
+ */
+final class DotShadow {
+    private static final int SHADOW_COLOR = 0x3D000000;
+
+    private final int blurRadius;
+    private final int offsetY;
+    private final Paint paint = new Paint(Paint.FILTER_BITMAP_FLAG);
+    private final Rect src = new Rect();
+    private final RectF dst = new RectF();
+
+    private Bitmap bitmap;
+    private int dotHeight = -1;
+    private int cornerRadius = -1;
+    private int capWidth;
+
+    /**
+     * @param elevation elevation of the dots in pixels
+     */
+    DotShadow(int elevation) {
+        blurRadius = Math.max(1, elevation);
+        offsetY = elevation / 2;
+        paint.setColor(SHADOW_COLOR);
+    }
+
+    /**
+     * @return room the shadow needs around a dot
+     */
+    int getExtent() {
+        return blurRadius + offsetY;
+    }
+
+    /**
+     * Draw the shadow of a dot, the blurred shape is only rebuilt when the dot height or corner radius changes.
+     * The caps keep their size and the middle column is stretched, so the stretched selected dot reuses it too.
+     */
+    void draw(@NonNull Canvas canvas, float left, float top, float width, int height, float cornerRadius) {
+        prepare(height, (int) Math.min(cornerRadius, Math.min(width, height) / 2));
+
+        float x = left - blurRadius;
+        float y = top - blurRadius + offsetY;
+        float bottom = y + bitmap.getHeight();
+        float middleStart = left + this.cornerRadius;
+        float middleEnd = Math.max(middleStart, left + width - this.cornerRadius);
+
+        src.set(0, 0, capWidth, bitmap.getHeight());
+        dst.set(x, y, middleStart, bottom);
+        canvas.drawBitmap(bitmap, src, dst, paint);
+
+        src.set(capWidth, 0, capWidth + 1, bitmap.getHeight());
+        dst.set(middleStart, y, middleEnd, bottom);
+        canvas.drawBitmap(bitmap, src, dst, paint);
+
+        src.set(capWidth + 1, 0, bitmap.getWidth(), bitmap.getHeight());
+        dst.set(middleEnd, y, middleEnd + capWidth, bottom);
+        canvas.drawBitmap(bitmap, src, dst, paint);
+    }
+
+    private void prepare(int height, int radius) {
+        if (bitmap != null && height == dotHeight && radius == cornerRadius) {
+            return;
+        }
+
+        dotHeight = height;
+        cornerRadius = radius;
+        capWidth = blurRadius + radius;
+        if (bitmap != null) {
+            bitmap.recycle();
+        }
+
+        // Alpha only, the shadow color comes from the paint drawing it
+        bitmap = Bitmap.createBitmap(2 * capWidth + 1, height + 2 * blurRadius, Bitmap.Config.ALPHA_8);
+        Paint shapePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        shapePaint.setMaskFilter(new BlurMaskFilter(blurRadius, BlurMaskFilter.Blur.NORMAL));
+        new Canvas(bitmap).drawRoundRect(new RectF(blurRadius, blurRadius, blurRadius + 2 * radius + 1, blurRadius + height),
+                radius, radius, shapePaint);
+    }
+}
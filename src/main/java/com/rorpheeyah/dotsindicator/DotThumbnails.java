@@ -0,0 +1,215 @@
+package com.rorpheeyah.dotsindicator;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.util.LruCache;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Page previews drawn in the dots. Thumbnails are loaded on a background thread, downsampled to the dot size and kept
+ * in a cache bounded in bytes and shared by every indicator, so memory stays fixed whatever the page count.
+ * Only the dots on screen are drawn and loaded, a load is dropped when its dot scrolled away before it started.
+ */
+final class DotThumbnails {
+    private static final int UNSELECTED_ALPHA = 153;
+
+    private static final LruCache<String, Bitmap> CACHE =
+            new LruCache<String, Bitmap>((int) Math.min(Runtime.getRuntime().maxMemory() / 64, Integer.MAX_VALUE)) {
+                @Override protected int sizeOf(String key, Bitmap value) {
+                    return value.getByteCount();
+                }
+            };
+    private static ExecutorService executor;
+
+    interface Host {
+        /**
+         * @return index of the dot under x, or -1 if there is none
+         */
+        int getDotIndexAt(float x);
+
+        /**
+         * @param out bounds of the dot drawing in the indicator coordinates
+         */
+        void getDotViewBounds(int index, @NonNull RectF out);
+    }
+
+    private final View view;
+    private final ThumbnailProvider provider;
+    private final Host host;
+    private final Set<String> pending = new HashSet<>();
+    private final Paint paint = new Paint(Paint.FILTER_BITMAP_FLAG | Paint.ANTI_ALIAS_FLAG);
+    private final Path clipPath = new Path();
+    private final Rect visibleBounds = new Rect();
+    private final Rect src = new Rect();
+    private final RectF dotBounds = new RectF();
+
+    private String[] keys;
+    private int keysWidth;
+    private int keysHeight;
+    private volatile int windowStart;
+    private volatile int windowEnd = -1;
+    private volatile boolean released;
+    private volatile int generation;
+
+    DotThumbnails(@NonNull View view, @NonNull ThumbnailProvider provider, @NonNull Host host) {
+        this.view = view;
+        this.provider = provider;
+        this.host = host;
+    }
+
+    /**
+     * The provider is not used anymore, loads that did not start yet are dropped
+     */
+    void release() {
+        released = true;
+    }
+
+    ThumbnailProvider getProvider() {
+        return provider;
+    }
+
+    /**
+     * The pages changed, their keys are asked again and the thumbnails reloaded. Loads in flight are dropped.
+     */
+    void invalidate() {
+        if (keys != null) {
+            for (String key : keys) {
+                if (key != null) {
+                    CACHE.remove(key);
+                }
+            }
+            keys = null;
+        }
+        pending.clear();
+        generation++;
+        view.invalidate();
+    }
+
+    /**
+     * @param width width of the selected dot
+     * @param height height of the dots
+     */
+    void draw(@NonNull Canvas canvas, int count, int currentPage, int width, int height, float cornerRadius) {
+        if (count == 0 || width <= 0 || height <= 0 || !view.getLocalVisibleRect(visibleBounds)) {
+            return;
+        }
+
+        if (keys == null || keys.length != count || width != keysWidth || height != keysHeight) {
+            keys = new String[count];
+            keysWidth = width;
+            keysHeight = height;
+        }
+
+        int start = Math.max(0, host.getDotIndexAt(visibleBounds.left));
+        int end = Math.min(count - 1, host.getDotIndexAt(visibleBounds.right));
+        windowStart = start;
+        windowEnd = end;
+        for (int i = start; i <= end; i++) {
+            if (keys[i] == null) {
+                keys[i] = provider.getThumbnailKey(i) + '@' + width + 'x' + height;
+            }
+
+            Bitmap thumbnail = CACHE.get(keys[i]);
+            if (thumbnail == null) {
+                if (pending.add(keys[i])) {
+                    load(i, keys[i], width, height);
+                }
+                continue;
+            }
+
+            host.getDotViewBounds(i, dotBounds);
+            cropCenter(thumbnail.getWidth(), thumbnail.getHeight(), dotBounds.width(), dotBounds.height(), src);
+            clipPath.reset();
+            clipPath.addRoundRect(dotBounds, cornerRadius, cornerRadius, Path.Direction.CW);
+            paint.setAlpha(i == currentPage ? 255 : UNSELECTED_ALPHA);
+
+            int saveCount = canvas.save();
+            canvas.clipPath(clipPath);
+            canvas.drawBitmap(thumbnail, src, dotBounds, paint);
+            canvas.restoreToCount(saveCount);
+        }
+    }
+
+    private void load(final int page, final String key, final int width, final int height) {
+        final int loadGeneration = generation;
+        getExecutor().execute(new Runnable() {
+            @Override public void run() {
+                boolean loaded = false;
+                try {
+                    if (!released && page >= windowStart && page <= windowEnd && CACHE.get(key) == null) {
+                        Bitmap source = provider.loadThumbnail(page, width, height);
+                        if (source != null && loadGeneration == generation) {
+                            CACHE.put(key, downsample(source, width, height));
+                            loaded = true;
+                        }
+                    }
+                } finally {
+                    final boolean invalidate = loaded;
+                    view.post(new Runnable() {
+                        @Override public void run() {
+                            if (loadGeneration == generation) {
+                                pending.remove(key);
+                            }
+                            if (invalidate && !released) {
+                                view.invalidate();
+                            }
+                        }
+                    });
+                }
+            }
+        });
+    }
+
+    /**
+     * Keep only what the selected dot shows, the narrower dots crop the middle of it. The result is always a new
+     * bitmap, even at the dot size, since the cache must not hold a bitmap the app may recycle.
+     */
+    private static Bitmap downsample(Bitmap source, int width, int height) {
+        Bitmap thumbnail = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+        Rect crop = new Rect();
+        cropCenter(source.getWidth(), source.getHeight(), width, height, crop);
+        new Canvas(thumbnail).drawBitmap(source, crop, new Rect(0, 0, width, height), new Paint(Paint.FILTER_BITMAP_FLAG));
+        return thumbnail;
+    }
+
+    private static void cropCenter(int sourceWidth, int sourceHeight, float width, float height, Rect out) {
+        if (sourceWidth * height > sourceHeight * width) {
+            int cropWidth = (int) (sourceHeight * width / height);
+            int left = (sourceWidth - cropWidth) / 2;
+            out.set(left, 0, left + cropWidth, sourceHeight);
+        } else {
+            int cropHeight = (int) (sourceWidth * height / width);
+            int top = (sourceHeight - cropHeight) / 2;
+            out.set(0, top, sourceWidth, top + cropHeight);
+        }
+    }
+
+    /**
+     * One low priority thread for every indicator, thumbnails load one after the other
+     */
+    private static synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+                @Override public Thread newThread(@NonNull Runnable runnable) {
+                    Thread thread = new Thread(runnable, "DotThumbnails");
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                }
+            });
+        }
+        return executor;
+    }
+}
@@ -0,0 +1,110 @@
+package com.rorpheeyah.dotsindicator;
+
+import android.graphics.Rect;
+import android.os.Bundle;
+import android.view.View;
+import android.view.accessibility.AccessibilityEvent;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.view.accessibility.AccessibilityNodeInfoCompat;
+import androidx.customview.widget.ExploreByTouchHelper;
+
+import java.util.List;
+
+/**
+ * Exposes the pages of an indicator as virtual accessibility nodes, "Page 3 of 40" with a click action,
+ * instead of one node per dot View. Only a window of pages around the current one is exposed,
+ * so the tree stays small whatever the page count.
+ */
+final class DotsAccessibilityHelper extends ExploreByTouchHelper {
+    static final int WINDOW = 10;
+
+    interface Host {
+        int getPageCount();
+
+        int getCurrentPage();
+
+        /**
+         * @param x x in the indicator coordinates
+         * @return index of the dot under x, or -1 if there is none
+         */
+        int getDotIndexAt(float x);
+
+        /**
+         * @param out bounds of the dot in the indicator coordinates, computed from the indicator geometry
+         */
+        void getDotBounds(int index, @NonNull Rect out);
+    }
+
+    private final View view;
+    private final Host host;
+    private final PageSelector pageSelector;
+    private final Rect bounds = new Rect();
+    private int windowCenter = -1;
+    private int selectedPage = -1;
+
+    DotsAccessibilityHelper(@NonNull View view, @NonNull Host host, @NonNull PageSelector pageSelector) {
+        super(view);
+        this.view = view;
+        this.host = host;
+        this.pageSelector = pageSelector;
+    }
+
+    /**
+     * The current page changed, the window follows it
+     */
+    void onPageSelected(int page) {
+        if (windowCenter < 0) {
+            return;
+        }
+
+        if (Math.abs(page - windowCenter) > WINDOW / 2) {
+            invalidateRoot();
+        } else if (page != selectedPage) {
+            invalidateVirtualView(selectedPage);
+            invalidateVirtualView(page);
+        }
+        selectedPage = page;
+    }
+
+    @Override protected int getVirtualViewAt(float x, float y) {
+        int index = host.getDotIndexAt(x);
+        return index >= 0 && isInWindow(index) ? index : INVALID_ID;
+    }
+
+    @Override protected void getVisibleVirtualViews(List<Integer> virtualViewIds) {
+        windowCenter = selectedPage = host.getCurrentPage();
+        int count = host.getPageCount();
+        int start = Math.max(0, windowCenter - WINDOW);
+        int end = Math.min(count, windowCenter + WINDOW + 1);
+        for (int i = start; i < end; i++) {
+            virtualViewIds.add(i);
+        }
+    }
+
+    @Override protected void onPopulateNodeForVirtualView(int virtualViewId, @NonNull AccessibilityNodeInfoCompat node) {
+        host.getDotBounds(virtualViewId, bounds);
+        node.setContentDescription(view.getResources().getString(
+                R.string.dots_indicator_page_description, virtualViewId + 1, host.getPageCount()));
+        node.setBoundsInParent(bounds);
+        node.setSelected(virtualViewId == host.getCurrentPage());
+        node.setClickable(true);
+        node.addAction(AccessibilityNodeInfoCompat.ACTION_CLICK);
+    }
+
+    @Override protected boolean onPerformActionForVirtualView(int virtualViewId, int action, @Nullable Bundle arguments) {
+        if (action != AccessibilityNodeInfoCompat.ACTION_CLICK || virtualViewId >= host.getPageCount()) {
+            return false;
+        }
+
+        pageSelector.select(virtualViewId, true);
+        sendEventForVirtualView(virtualViewId, AccessibilityEvent.TYPE_VIEW_CLICKED);
+        return true;
+    }
+
+    private boolean isInWindow(int index) {
+        int center = windowCenter >= 0 ? windowCenter : host.getCurrentPage();
+        return Math.abs(index - center) <= WINDOW;
+    }
+}
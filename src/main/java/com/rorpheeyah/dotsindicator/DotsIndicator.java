@@ -1,26 +1,11 @@
 package com.rorpheeyah.dotsindicator;
 
 import android.content.Context;
-import android.content.res.TypedArray;
-import android.database.DataSetObserver;
 import android.graphics.Color;
-import android.graphics.drawable.GradientDrawable;
 import android.util.AttributeSet;
-import android.util.Log;
-import android.view.LayoutInflater;
-import android.view.View;
-import android.view.ViewGroup;
-import android.widget.ImageView;
-import android.widget.LinearLayout;
-import android.widget.RelativeLayout;
 
 import androidx.annotation.NonNull;
-import androidx.recyclerview.widget.RecyclerView;
-import androidx.viewpager.widget.ViewPager;
-import androidx.viewpager2.widget.ViewPager2;
-
-import java.util.ArrayList;
-import java.util.List;
+import androidx.annotation.Nullable;
 
 /*
      ____        _       ___           _ _           _
@@ -31,440 +16,68 @@ import java.util.List;
  */
 
 /**
+ * Dots indicator whose selected dot stretches by the width factor and hands its width and color over to the next dot
+ * during the swipe.
+ *
  * @author Matt Rorpheeyah
  */
-public class DotsIndicator extends LinearLayout {
+public class DotsIndicator extends BaseDotsIndicator {
     private static final int DEFAULT_POINT_COLOR = Color.WHITE;
-    public static final float DEFAULT_WIDTH_FACTOR = 2.5f;
-
-    private List<ImageView> dots;
-    private ViewPager viewPager;
-    private ViewPager2 viewPager2;
-    private float dotsSize;
-    private float dotsCornerRadius;
-    private float dotsSpacing;
-    private int currentPage;
-    private float dotsWidthFactor;
-    private int dotsColor;
-    private int selectedDotColor;
-
-    private boolean dotsClickable, isAllDot;
-    private ViewPager.OnPageChangeListener pageChangedListener;
-    private ViewPager2.OnPageChangeCallback pageChangedListener2;
+    public static final float DEFAULT_WIDTH_FACTOR = IndicatorStyle.DEFAULT_WIDTH_FACTOR;
+    public static final int DEFAULT_JUMP_THRESHOLD = IndicatorStyle.DEFAULT_JUMP_THRESHOLD;
 
     public DotsIndicator(Context context) {
-        super(context);
-        init(null);
+        this(context, (AttributeSet) null);
     }
 
     public DotsIndicator(Context context, AttributeSet attrs) {
-        super(context, attrs);
-        init(attrs);
+        this(context, attrs, 0);
     }
 
     public DotsIndicator(Context context, AttributeSet attrs, int defStyleAttr) {
-        super(context, attrs, defStyleAttr);
-        init(attrs);
-    }
-
-    /**
-     *  Initiate views & attributes
-     */
-    private void init(AttributeSet attrs) {
-        dots = new ArrayList<>();
-        setOrientation(HORIZONTAL);
-
-        dotsSize = dpToPx(16);
-        dotsSpacing = dpToPx(4);
-        dotsCornerRadius = dotsSize / 2;
-
-        dotsWidthFactor = DEFAULT_WIDTH_FACTOR;
-        dotsColor = DEFAULT_POINT_COLOR;
-        dotsClickable = true;
-
-        if (attrs != null) {
-            TypedArray a        = getContext().obtainStyledAttributes(attrs, R.styleable.DotsIndicator);
-            selectedDotColor    = a.getColor(R.styleable.DotsIndicator_selectedDotColor, DEFAULT_POINT_COLOR);
-            dotsColor           = a.getColor(R.styleable.DotsIndicator_dotsColor, DEFAULT_POINT_COLOR);
-            setUpCircleColors(dotsColor);
-
-            dotsWidthFactor     = a.getFloat(R.styleable.DotsIndicator_dotsWidthFactor, 2.5f);
-            if (dotsWidthFactor < 1) {
-                dotsWidthFactor = 2.5f;
-            }
-
-            dotsSize            = a.getDimension(R.styleable.DotsIndicator_dotsSize, dotsSize);
-            dotsCornerRadius    = (int) a.getDimension(R.styleable.DotsIndicator_dotsCornerRadius, dotsSize / 2);
-            dotsSpacing         = a.getDimension(R.styleable.DotsIndicator_dotsSpacing, dotsSpacing);
-            isAllDot            = a.getBoolean(R.styleable.DotsIndicator_dots_all, false);
-
-            a.recycle();
-        } else {
-            setUpCircleColors(DEFAULT_POINT_COLOR);
-        }
-
-        if (isInEditMode()) {
-            addDots(5);
-            setUpSelectedColors(0);
-        }
-    }
-
-    @Override
-    protected void onAttachedToWindow() {
-        super.onAttachedToWindow();
-        refreshDots();
-        refreshDots2();
-    }
-
-    /**
-     * Refresh dot for Viewpager
-     */
-    private void refreshDots() {
-        if (viewPager != null && viewPager.getAdapter() != null) {
-            // Check if we need to refresh the dots count
-            if (dots.size() < viewPager.getAdapter().getCount()) {
-                addDots(viewPager.getAdapter().getCount() - dots.size());
-            } else if (dots.size() > viewPager.getAdapter().getCount()) {
-                removeDots(dots.size() - viewPager.getAdapter().getCount());
-            }
-            setUpSelectedColors(currentPage);
-            setUpDotsAnimators();
-        } else {
-            Log.e(DotsIndicator.class.getSimpleName(), "You have to set an adapter to the view pager before !");
-        }
-    }
-
-    /**
-     * Refresh dot for Viewpager2
-     */
-    private void refreshDots2() {
-        if (viewPager2 != null && viewPager2.getAdapter() != null) {
-            // Check if we need to refresh the dots count
-            if (dots.size() < viewPager2.getAdapter().getItemCount()) {
-                addDots2(viewPager2.getAdapter().getItemCount() - dots.size());
-            } else if (dots.size() > viewPager2.getAdapter().getItemCount()) {
-                removeDots(dots.size() - viewPager2.getAdapter().getItemCount());
-            }
-            setUpSelectedColors(currentPage);
-            setUpDotsAnimators2();
-        } else {
-            Log.e(DotsIndicator.class.getSimpleName(), "You have to set an adapter to the view pager before !");
-        }
-    }
-
-    /**
-     * Add dot for Viewpager
-     */
-    private void addDots(int count) {
-        for (int i = 0; i < count; i++) {
-            View dot = LayoutInflater.from(getContext()).inflate(R.layout.dot_layout, this, false);
-            ImageView imageView = dot.findViewById(R.id.dot);
-            RelativeLayout.LayoutParams params =
-                    (RelativeLayout.LayoutParams) imageView.getLayoutParams();
-            params.width = params.height = (int) dotsSize;
-            params.setMargins((int) dotsSpacing, 0, (int) dotsSpacing, 0);
-            ((GradientDrawable) imageView.getBackground()).setCornerRadius(dotsCornerRadius);
-            ((GradientDrawable) imageView.getBackground()).setColor(dotsColor);
-
-            final int finalI = i;
-            dot.setOnClickListener(new OnClickListener() {
-                @Override public void onClick(View v) {
-                    if (dotsClickable
-                            && viewPager != null
-                            && viewPager.getAdapter() != null
-                            && finalI < viewPager.getAdapter().getCount()) {
-                        viewPager.setCurrentItem(finalI, true);
-                    }
-                }
-            });
-
-            dots.add(imageView);
-            addView(dot);
-        }
-    }
-
-    /**
-     * Add dot for Viewpager2
-     */
-    private void addDots2(int count) {
-        for (int i = 0; i < count; i++) {
-            View dot = LayoutInflater.from(getContext()).inflate(R.layout.dot_layout, this, false);
-            ImageView imageView = dot.findViewById(R.id.dot);
-            RelativeLayout.LayoutParams params =
-                    (RelativeLayout.LayoutParams) imageView.getLayoutParams();
-            params.width = params.height = (int) dotsSize;
-            params.setMargins((int) dotsSpacing, 0, (int) dotsSpacing, 0);
-            ((GradientDrawable) imageView.getBackground()).setCornerRadius(dotsCornerRadius);
-            ((GradientDrawable) imageView.getBackground()).setColor(dotsColor);
-
-            final int finalI = i;
-            dot.setOnClickListener(new OnClickListener() {
-                @Override public void onClick(View v) {
-                    if (dotsClickable
-                            && viewPager2 != null
-                            && viewPager2.getAdapter() != null
-                            && finalI < viewPager2.getAdapter().getItemCount()) {
-                        viewPager2.setCurrentItem(finalI, true);
-                    }
-                }
-            });
-
-            dots.add(imageView);
-            addView(dot);
-        }
-    }
-
-    /**
-     * Remove dot
-     */
-    private void removeDots(int count) {
-        for (int i = 0; i < count; i++) {
-            removeViewAt(getChildCount() - 1);
-            dots.remove(dots.size() - 1);
-        }
-    }
-
-    /**
-     * Set Animation for Viewpager2
-     */
-    private void setUpDotsAnimators() {
-        if (viewPager != null
-                && viewPager.getAdapter() != null
-                && viewPager.getAdapter().getCount() > 0) {
-            if (currentPage < dots.size()) {
-                View dot = dots.get(currentPage);
-
-                if (dot != null) {
-                    RelativeLayout.LayoutParams params = (RelativeLayout.LayoutParams) dot.getLayoutParams();
-                    params.width = (int) dotsSize;
-                    dot.setLayoutParams(params);
-                }
-            }
-
-            currentPage = viewPager.getCurrentItem();
-            if (currentPage >= dots.size()) {
-                currentPage = dots.size() - 1;
-                viewPager.setCurrentItem(currentPage, false);
-            }
-            View dot = dots.get(currentPage);
-
-            if (dot != null) {
-                RelativeLayout.LayoutParams params = (RelativeLayout.LayoutParams) dot.getLayoutParams();
-                params.width = isAllDot ? (int) dotsSize : (int) (dotsSize * dotsWidthFactor);
-                dot.setLayoutParams(params);
-            }
-
-            if (pageChangedListener != null) {
-                viewPager.removeOnPageChangeListener(pageChangedListener);
-            }
-
-            setUpOnPageChangedListener();
-            viewPager.addOnPageChangeListener(pageChangedListener);
-        }
-    }
-
-    /**
-     * Set Animation for Viewpager2
-     */
-    private void setUpDotsAnimators2() {
-        if (viewPager2 != null
-                && viewPager2.getAdapter() != null
-                && viewPager2.getAdapter().getItemCount() > 0) {
-            if (currentPage < dots.size()) {
-                View dot = dots.get(currentPage);
-
-                if (dot != null) {
-                    RelativeLayout.LayoutParams params = (RelativeLayout.LayoutParams) dot.getLayoutParams();
-                    params.width = (int) dotsSize;
-                    dot.setLayoutParams(params);
-                }
-            }
-
-            currentPage = viewPager2.getCurrentItem();
-            if (currentPage >= dots.size()) {
-                currentPage = dots.size() - 1;
-                viewPager2.setCurrentItem(currentPage, false);
-            }
-            View dot = dots.get(currentPage);
-
-            if (dot != null) {
-                RelativeLayout.LayoutParams params = (RelativeLayout.LayoutParams) dot.getLayoutParams();
-                params.width = isAllDot ? (int) dotsSize : (int) (dotsSize * dotsWidthFactor);
-                dot.setLayoutParams(params);
-            }
-
-            if (pageChangedListener2 != null) {
-                viewPager2.unregisterOnPageChangeCallback(pageChangedListener2);
-            }
-
-            setUpOnPageChangedListener2();
-            viewPager2.registerOnPageChangeCallback(pageChangedListener2);
-        }
-    }
-
-    /**
-     * Set Page change listener for Viewpager
-     */
-    private void setUpOnPageChangedListener() {
-        pageChangedListener = new ViewPager.OnPageChangeListener() {
-
-            @Override
-            public void onPageScrolled(int position, float positionOffset, int positionOffsetPixels) {
-                calculateDotWidth(position, positionOffset);
-            }
-
-            @Override public void onPageSelected(int position) {
-                setUpSelectedColors(position);
-            }
-
-            @Override public void onPageScrollStateChanged(int state) {}
-        };
-    }
-
-    /**
-     * Set Page change listener for Viewpager2
-     */
-    private void setUpOnPageChangedListener2() {
-        pageChangedListener2 = new ViewPager2.OnPageChangeCallback() {
-
-            @Override
-            public void onPageScrolled(int position, float positionOffset, int positionOffsetPixels) {
-                calculateDotWidth(position, positionOffset);
-            }
-
-            @Override public void onPageSelected(int position) {
-                setUpSelectedColors(position);
-            }
-
-            @Override public void onPageScrollStateChanged(int state) {}
-        };
+        super(context, attrs, defStyleAttr, IndicatorStyle.obtain(context, attrs, defStyleAttr, 0, defaultStyle(context)),
+                IndicatorRenderer.TYPE_DOTS);
     }
 
     /**
-     * Calculate image width
-     * @param position current position
-     * @param positionOffset Value from [0, 1) indicating the offset from the page at position.
+     * Create a stretched dots indicator from a style, no attribute nor theme is read
      */
-    private void calculateDotWidth(int position, float positionOffset){
-
-        if (position != currentPage && positionOffset == 0 || currentPage < position) {
-            setDotWidth(dots.get(currentPage), (int) dotsSize);
-            currentPage = position;
-        }
-
-        if (Math.abs(currentPage - position) > 1) {
-            setDotWidth(dots.get(currentPage), (int) dotsSize);
-            currentPage = position;
-        }
-
-        ImageView dot = dots.get(currentPage);
-
-        ImageView nextDot = null;
-        if (currentPage == position && currentPage + 1 < dots.size()) {
-            nextDot = dots.get(currentPage + 1);
-        } else if (currentPage > position) {
-            nextDot = dot;
-            dot = dots.get(currentPage - 1);
-        }
-
-        int dotWidth = (int) (dotsSize + (dotsSize * (dotsWidthFactor - 1) * (1 - positionOffset)));
-        setDotWidth(dot, dotWidth);
-
-        if (nextDot != null) {
-            int nextDotWidth =
-                    (int) (dotsSize + (dotsSize * (dotsWidthFactor - 1) * (positionOffset)));
-            setDotWidth(nextDot, nextDotWidth);
-        }
-    }
-
-    /**
-     * Set dot width
-     */
-    private void setDotWidth(@NonNull ImageView dot, int dotWidth) {
-        ViewGroup.LayoutParams dotParams = dot.getLayoutParams();
-        dotParams.width = isAllDot ? (int) dotsSize : dotWidth;
-        dot.setLayoutParams(dotParams);
-    }
-
-    /**
-     * Set dot circle(stroke) color
-     */
-    private void setUpCircleColors(int color) {
-        if (dots != null) {
-            for (ImageView elevationItem : dots) {
-                ((GradientDrawable) elevationItem.getBackground()).setColor(color);
-            }
-        }
-    }
-    /**
-     * Set selected dot circle(stroke) color
-     */
-    private void setUpSelectedColors(int position) {
-        if (dots != null && dots.size() > 0) {
-            for (ImageView elevationItem : dots) {
-                ((GradientDrawable) elevationItem.getBackground()).setColor(dotsColor);
-            }
-            ((GradientDrawable) dots.get(position).getBackground()).setColor(selectedDotColor);
-        }
+    public DotsIndicator(Context context, @NonNull IndicatorStyle style) {
+        super(context, null, 0, style, IndicatorRenderer.TYPE_DOTS);
     }
 
     /**
-     * Setup dot with ViewPager
+     * White dots by default
      */
-    private void setUpViewPager() {
-        if (viewPager.getAdapter() != null) {
-            viewPager.getAdapter().registerDataSetObserver(new DataSetObserver() {
-                @Override public void onChanged() {
-                    super.onChanged();
-                    refreshDots2();
-                }
-            });
-        }
+    private static IndicatorStyle.Builder defaultStyle(Context context) {
+        return new IndicatorStyle.Builder(context)
+                .setDotsColor(DEFAULT_POINT_COLOR)
+                .setSelectedDotColor(DEFAULT_POINT_COLOR);
     }
 
     /**
-     * Setup dot with ViewPager2
+     * Set the color of the dots other than the selected one.
      */
-    private void setUpViewPager2() {
-        if (viewPager2.getAdapter() != null) {
-            viewPager2.getAdapter().registerAdapterDataObserver(new RecyclerView.AdapterDataObserver() {
-                @Override
-                public void onChanged() {
-                    super.onChanged();
-                    refreshDots();
-                }
-            });
-        }
-    }
-
-    private int dpToPx(int dp) {
-        return (int) (getContext().getResources().getDisplayMetrics().density * dp);
-    }
-
-
     public void setPointsColor(int color) {
-        setUpCircleColors(color);
-    }
-
-    public void setDotsClickable(boolean dotsClickable) {
-        this.dotsClickable = dotsClickable;
+        edit().setDotsColor(color).apply();
     }
 
     /**
-     * Attach ViewPager
+     * Give each page its own selected dot color, for onboarding flows. The selected color fades with the swipe
+     * and the palette repeats when it is shorter than the pages.
+     *
+     * @param colors selected dot color by page, null to use the single selected dot color.
      */
-    public void setViewPager(ViewPager viewPager) {
-        this.viewPager = viewPager;
-        setUpViewPager();
-        refreshDots();
+    public void setSelectedDotColors(@Nullable int... colors) {
+        setPalette(colors);
     }
 
     /**
-     * Attach ViewPager2
+     * Set the dots elevation, all dots share one pre-blurred shadow.
+     *
+     * @param elevation elevation in pixels, 0 to remove the shadows.
      */
-    public void setViewPager2(ViewPager2 viewPager2) {
-        this.viewPager2 = viewPager2;
-        setUpViewPager2();
-        refreshDots2();
+    public void setDotsElevation(int elevation) {
+        edit().setDotsElevation(elevation).apply();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,163 @@
+package com.rorpheeyah.dotsindicator;
+
+import android.graphics.Canvas;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.graphics.drawable.GradientDrawable;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * The {@link DotsIndicator} look: the selected dot stretches by the width factor and hands its width and color over
+ * to the next dot during the swipe. Elevated dots share one pre-blurred shadow, the row grows by its extent.
+ */
+final class DotsLook implements IndicatorLook {
+    private final IndicatorStyle style;
+    private final IndicatorGeometry geometry;
+    private final DotShadow dotShadow;
+    private final int shadowExtent;
+    private final int selectedExtra;
+    private final GradientDrawable dotDrawable = new GradientDrawable();
+    private ColorLut selectedColorLut;
+
+    DotsLook(@NonNull IndicatorStyle style) {
+        this.style          = style;
+        geometry            = new IndicatorGeometry(style);
+        dotShadow           = style.dotsElevation > 0 ? new DotShadow(style.dotsElevation) : null;
+        shadowExtent        = dotShadow != null ? dotShadow.getExtent() : 0;
+        selectedExtra       = style.allDots ? 0 : geometry.getDotWidth(1) - geometry.dotsSize;
+
+        dotDrawable.setShape(GradientDrawable.RECTANGLE);
+        dotDrawable.setCornerRadius(style.dotsCornerRadius);
+        setPalette(null);
+    }
+
+    @Override public int getWidth(int count) {
+        return count * geometry.step + (count > 0 ? selectedExtra : 0) + shadowExtent * 2;
+    }
+
+    @Override public int getHeight() {
+        return geometry.dotsSize + shadowExtent * 2;
+    }
+
+    @Override public int getCornerRadius() {
+        return style.dotsCornerRadius;
+    }
+
+    /**
+     * Every slot is step wide except the selected one, stretched by the width factor
+     */
+    @Override public int getDotIndexAt(float x, int count, int position) {
+        if (count <= 0) {
+            return -1;
+        }
+
+        int index;
+        float relativeX = x - shadowExtent;
+        int currentStart = position * geometry.step;
+        if (relativeX < currentStart) {
+            index = (int) (relativeX / geometry.step);
+        } else if (relativeX < currentStart + geometry.step + selectedExtra) {
+            index = position;
+        } else {
+            index = (int) ((relativeX - selectedExtra) / geometry.step);
+        }
+        return Math.max(0, Math.min(index, count - 1));
+    }
+
+    @Override public void getDotBounds(int index, int position, @NonNull Rect out) {
+        int left = shadowExtent + index * geometry.step + (index > position ? selectedExtra : 0);
+        int right = left + geometry.step + (index == position ? selectedExtra : 0);
+        out.set(left, 0, right, getHeight());
+    }
+
+    /**
+     * The dots before index push it right by the width they took from the scroll
+     */
+    @Override public void getDotDrawBounds(int index, int position, float positionOffset, boolean wrapping,
+                                           @NonNull RectF out) {
+        int next = wrapping ? 0 : position + 1;
+        float left = shadowExtent + index * geometry.step + geometry.dotsSpacing;
+        if (position < index) {
+            left += getDotWidth(position, position, next, positionOffset) - geometry.dotsSize;
+        }
+        if (next < index) {
+            left += getDotWidth(next, position, next, positionOffset) - geometry.dotsSize;
+        }
+        out.set(left, shadowExtent, left + getDotWidth(index, position, next, positionOffset),
+                shadowExtent + geometry.dotsSize);
+    }
+
+    @Override public void getSelectedDotBounds(int position, @NonNull RectF out) {
+        getDotDrawBounds(position, position, 0, false, out);
+    }
+
+    @Override public boolean hasSprings() {
+        return false;
+    }
+
+    /**
+     * The selected dot is the indicator, it is stretched in place rather than moved
+     */
+    @Override public float getIndicatorX(int position, float positionOffset, boolean wrapping) {
+        return shadowExtent + position * geometry.step;
+    }
+
+    @Override public float getIndicatorWidth(int position, float positionOffset, boolean wrapping) {
+        return getDotWidth(position, position, wrapping ? 0 : position + 1, positionOffset);
+    }
+
+    /**
+     * The selected color of a page fades to the dots color as it hands over to the next page
+     */
+    @Override public void setPalette(@Nullable int[] colors) {
+        selectedColorLut = ColorLut.toward(colors != null ? colors : new int[]{style.selectedDotColor}, style.dotsColor);
+    }
+
+    /**
+     * Shadows under every dot first, so a stretched dot never covers the shadow of its neighbour
+     */
+    @Override public void drawDots(@NonNull Canvas canvas, int count, int position, float positionOffset, boolean wrapping) {
+        int next = wrapping ? 0 : position + 1;
+        int top = shadowExtent;
+        if (dotShadow != null) {
+            float left = shadowExtent;
+            for (int i = 0; i < count; i++) {
+                int width = getDotWidth(i, position, next, positionOffset);
+                dotShadow.draw(canvas, left + geometry.dotsSpacing, top, width, geometry.dotsSize, style.dotsCornerRadius);
+                left += width + geometry.dotsSpacing * 2;
+            }
+        }
+
+        int left = shadowExtent;
+        for (int i = 0; i < count; i++) {
+            int width = getDotWidth(i, position, next, positionOffset);
+            int dotLeft = left + geometry.dotsSpacing;
+            dotDrawable.setBounds(dotLeft, top, dotLeft + width, top + geometry.dotsSize);
+            if (i == position) {
+                dotDrawable.setColor(selectedColorLut.get(i, positionOffset));
+            } else if (i == next) {
+                dotDrawable.setColor(selectedColorLut.get(i, 1 - positionOffset));
+            } else {
+                dotDrawable.setColor(style.dotsColor);
+            }
+            dotDrawable.draw(canvas);
+            left += width + geometry.dotsSpacing * 2;
+        }
+    }
+
+    @Override public void drawIndicator(@NonNull Canvas canvas, int position, float positionOffset,
+                                        float indicatorX, float indicatorWidth) {
+    }
+
+    private int getDotWidth(int index, int position, int next, float positionOffset) {
+        if (style.allDots) {
+            return geometry.dotsSize;
+        }
+        if (index == position) {
+            return geometry.getDotWidth(1 - positionOffset);
+        }
+        return index == next ? geometry.getDotWidth(positionOffset) : geometry.dotsSize;
+    }
+}
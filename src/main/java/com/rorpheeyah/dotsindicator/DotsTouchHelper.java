@@ -0,0 +1,90 @@
+package com.rorpheeyah.dotsindicator;
+
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.ViewConfiguration;
+import android.view.ViewParent;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Single touch handler shared by every dot of an indicator.
+ * A tap selects the dot under the finger, a horizontal drag scrubs along the dots.
+ */
+final class DotsTouchHelper {
+
+    interface Host {
+        /**
+         * @param x touch x in the indicator coordinates
+         * @return index of the dot under x, or -1 if there is none
+         */
+        int getDotIndexAt(float x);
+
+        /**
+         * @param index touched dot
+         * @param scrubbing true while the user drags along the dots
+         */
+        void onDotTouched(int index, boolean scrubbing);
+    }
+
+    private final View view;
+    private final Host host;
+    private final int touchSlop;
+
+    private float downX;
+    private boolean scrubbing;
+    private int lastIndex = -1;
+
+    DotsTouchHelper(@NonNull View view, @NonNull Host host) {
+        this.view = view;
+        this.host = host;
+        this.touchSlop = ViewConfiguration.get(view.getContext()).getScaledTouchSlop();
+    }
+
+    boolean onTouchEvent(@NonNull MotionEvent event) {
+        switch (event.getActionMasked()) {
+            case MotionEvent.ACTION_DOWN:
+                downX = event.getX();
+                scrubbing = false;
+                lastIndex = -1;
+                return true;
+
+            case MotionEvent.ACTION_MOVE:
+                if (!scrubbing && Math.abs(event.getX() - downX) > touchSlop) {
+                    scrubbing = true;
+                    ViewParent parent = view.getParent();
+                    if (parent != null) {
+                        parent.requestDisallowInterceptTouchEvent(true);
+                    }
+                }
+                if (scrubbing) {
+                    dispatch(event.getX(), true);
+                }
+                return true;
+
+            case MotionEvent.ACTION_UP:
+                if (!scrubbing) {
+                    view.performClick();
+                    dispatch(event.getX(), false);
+                }
+                scrubbing = false;
+                return true;
+
+            case MotionEvent.ACTION_CANCEL:
+                scrubbing = false;
+                return true;
+
+            default:
+                return false;
+        }
+    }
+
+    private void dispatch(float x, boolean scrub) {
+        int index = host.getDotIndexAt(x);
+        if (index < 0 || (scrub && index == lastIndex)) {
+            return;
+        }
+        lastIndex = index;
+        host.onDotTouched(index, scrub);
+    }
+}
@@ -0,0 +1,152 @@
+package com.rorpheeyah.dotsindicator;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.RectF;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Autoplay state of an indicator. The indicator runs on the shared {@link AutoplayScheduler} only while
+ * it is attached, shown, bound to pages and its pager is idle. The current dot fills with the time elapsed
+ * until the next advance.
+ */
+final class IndicatorAutoplay implements AutoplayScheduler.Client {
+
+    interface Host {
+        /**
+         * @param out bounds of the dot filled with the progress, in the indicator coordinates
+         * @return false if there is no dot to fill
+         */
+        boolean getProgressBounds(@NonNull RectF out);
+    }
+
+    private final View view;
+    private final PageSelector pageSelector;
+    private final Host host;
+    private final Paint progressPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final RectF progressBounds = new RectF();
+    private long interval;
+    private boolean attached;
+    private boolean shown;
+    private boolean idle = true;
+    private boolean running;
+    private float progress;
+
+    IndicatorAutoplay(@NonNull View view, @NonNull PageSelector pageSelector, @NonNull Host host) {
+        this.view = view;
+        this.pageSelector = pageSelector;
+        this.host = host;
+        view.addOnAttachStateChangeListener(new View.OnAttachStateChangeListener() {
+            @Override public void onViewAttachedToWindow(View v) {
+                attached = true;
+                update();
+            }
+
+            @Override public void onViewDetachedFromWindow(View v) {
+                attached = false;
+                update();
+            }
+        });
+    }
+
+    /**
+     * @param intervalMillis time between two advances, 0 to stop autoplay
+     */
+    void setInterval(long intervalMillis) {
+        interval = Math.max(0, intervalMillis);
+        update();
+    }
+
+    void setProgressColor(int color) {
+        progressPaint.setColor(color);
+        if (progress > 0) {
+            view.invalidate();
+        }
+    }
+
+    int getProgressColor() {
+        return progressPaint.getColor();
+    }
+
+    /**
+     * Check whether the indicator can be seen, from its visibility changes
+     */
+    void updateShown() {
+        shown = view.isShown() && view.getWindowVisibility() == View.VISIBLE;
+        update();
+    }
+
+    /**
+     * Pause while the user drags or the pager settles, the next interval starts once it is idle again
+     */
+    void onScrollStateChanged(int state) {
+        idle = state == PagerSource.SCROLL_STATE_IDLE;
+        update();
+    }
+
+    /**
+     * The page changed, count the whole interval again
+     */
+    void onPageSelected() {
+        if (running) {
+            AutoplayScheduler.getInstance().restart(this);
+        }
+    }
+
+    /**
+     * Check the running conditions again, after the pages of the host changed
+     */
+    void update() {
+        boolean shouldRun = interval > 0 && attached && shown && idle && pageSelector.getPageCount() > 1;
+        if (shouldRun == running) {
+            return;
+        }
+
+        running = shouldRun;
+        if (running) {
+            AutoplayScheduler.getInstance().add(this);
+        } else {
+            AutoplayScheduler.getInstance().remove(this);
+            onAutoplayProgress(0);
+        }
+    }
+
+    /**
+     * @return true while the indicator counts down to its next advance
+     */
+    boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Fill the current dot with the time elapsed until the next advance
+     */
+    void draw(@NonNull Canvas canvas, float cornerRadius) {
+        if (progress <= 0 || !host.getProgressBounds(progressBounds)) {
+            return;
+        }
+
+        int saveCount = canvas.save();
+        canvas.clipRect(progressBounds.left, progressBounds.top,
+                progressBounds.left + progressBounds.width() * progress, progressBounds.bottom);
+        canvas.drawRoundRect(progressBounds, cornerRadius, cornerRadius, progressPaint);
+        canvas.restoreToCount(saveCount);
+    }
+
+    @Override public long getAutoplayInterval() {
+        return interval;
+    }
+
+    @Override public void onAutoplayProgress(float progress) {
+        if (this.progress != progress) {
+            this.progress = progress;
+            view.invalidate();
+        }
+    }
+
+    @Override public void onAutoplayAdvance() {
+        pageSelector.selectNext();
+    }
+}
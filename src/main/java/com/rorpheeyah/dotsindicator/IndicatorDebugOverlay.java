@@ -0,0 +1,93 @@
+package com.rorpheeyah.dotsindicator;
+
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.os.SystemClock;
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.dynamicanimation.animation.SpringAnimation;
+
+/**
+ * Live counters drawn over an indicator: dots, Views, layouts per second and spring state.
+ * Only meant for debugging, nothing is counted or drawn while it is disabled.
+ */
+final class IndicatorDebugOverlay {
+    private static final long WINDOW_MILLIS = 1000;
+    private static final int TEXT_COLOR = Color.WHITE;
+    private static final int BACKGROUND_COLOR = 0xB0000000;
+
+    private final View view;
+    private final Paint textPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint backgroundPaint = new Paint();
+    private final StringBuilder text = new StringBuilder();
+
+    private long windowStart;
+    private int windowLayouts;
+    private int layoutsPerSecond;
+
+    IndicatorDebugOverlay(@NonNull View view) {
+        this.view = view;
+        textPaint.setColor(TEXT_COLOR);
+        textPaint.setTextSize(10 * view.getResources().getDisplayMetrics().scaledDensity);
+        backgroundPaint.setColor(BACKGROUND_COLOR);
+    }
+
+    /**
+     * Count a layout pass of the indicator, the rate is refreshed once per second
+     */
+    void onLayout() {
+        long now = SystemClock.uptimeMillis();
+        if (now - windowStart >= WINDOW_MILLIS) {
+            layoutsPerSecond = windowStart == 0 ? windowLayouts : (int) (windowLayouts * WINDOW_MILLIS / (now - windowStart));
+            windowLayouts = 0;
+            windowStart = now;
+            view.invalidate();
+        }
+        windowLayouts++;
+    }
+
+    /**
+     * @param springs springs of the indicator, none for indicators without animation
+     */
+    void draw(@NonNull Canvas canvas, int dots, @Nullable SpringAnimation... springs) {
+        text.setLength(0);
+        text.append("dots ").append(dots)
+                .append(" views ").append(countViews(view))
+                .append(" layouts/s ").append(layoutsPerSecond);
+        if (springs != null) {
+            for (SpringAnimation spring : springs) {
+                appendSpring(spring);
+            }
+        }
+
+        Paint.FontMetrics metrics = textPaint.getFontMetrics();
+        float width = textPaint.measureText(text, 0, text.length());
+        canvas.drawRect(0, 0, width, metrics.descent - metrics.ascent, backgroundPaint);
+        canvas.drawText(text, 0, text.length(), 0, -metrics.ascent, textPaint);
+    }
+
+    private void appendSpring(@Nullable SpringAnimation spring) {
+        if (spring == null) {
+            text.append(" spring -");
+        } else if (spring.isRunning()) {
+            text.append(" spring running to ").append((int) spring.getSpring().getFinalPosition());
+        } else {
+            text.append(" spring idle");
+        }
+    }
+
+    private static int countViews(@NonNull View view) {
+        int count = 1;
+        if (view instanceof ViewGroup) {
+            ViewGroup group = (ViewGroup) view;
+            for (int i = 0; i < group.getChildCount(); i++) {
+                count += countViews(group.getChildAt(i));
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,94 @@
+package com.rorpheeyah.dotsindicator;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Geometry of the indicators as pure functions of the scroll, shared by the views and {@link IndicatorRenderer}
+ * so a rendered indicator matches the live one. Every x is relative to the indicator left.
+ */
+final class IndicatorGeometry {
+    final int dotsSize;
+    final int dotsSpacing;
+    final int step;
+    final int horizontalMargin;
+    final int dotIndicatorSize;
+    private final float dotsWidthFactor;
+    private final float springOffset;
+
+    IndicatorGeometry(@NonNull IndicatorStyle style) {
+        dotsSize            = style.dotsSize;
+        dotsSpacing         = style.dotsSpacing;
+        step                = dotsSize + dotsSpacing * 2;
+        horizontalMargin    = style.horizontalMargin;
+        dotsWidthFactor     = style.dotsWidthFactor;
+        dotIndicatorSize    = style.dotsFilled ? dotsSize : dotsSize - style.dotsStrokeWidth * 2 + style.dotIndicatorAdditionalSize;
+        springOffset        = style.dotsFilled ? 0 : style.dotsStrokeWidth - (float) style.dotIndicatorAdditionalSize / 2;
+    }
+
+    /**
+     * Width of a dot of {@link DotsIndicator}
+     *
+     * @param stretch value from [0, 1], 1 for the selected dot
+     */
+    int getDotWidth(float stretch) {
+        return (int) (dotsSize + (dotsSize * (dotsWidthFactor - 1) * stretch));
+    }
+
+    /**
+     * Translation of the {@link SpringDotsIndicator} dot, the spring final position
+     *
+     * @param wrapping true when the last page of a looping source scrolls toward the first one
+     */
+    float getSpringX(int position, float positionOffset, boolean wrapping) {
+        if (wrapping) {
+            // Slide back over the dots from the last page to the first one
+            float lastX = getSpringX(position, 0, false);
+            return lastX + (getSpringX(0, 0, false) - lastX) * positionOffset;
+        }
+
+        float globalPositionOffsetPixels = position * step + step * positionOffset;
+        return globalPositionOffsetPixels + horizontalMargin + springOffset;
+    }
+
+    /**
+     * Translation of the {@link WormDotsIndicator} worm, the final position of its x spring
+     */
+    float getWormX(int position, float positionOffset, boolean wrapping) {
+        int nextPosition = wrapping ? 0 : position + 1;
+        return positionOffset > 0.9f ? horizontalMargin + nextPosition * step : horizontalMargin + position * step;
+    }
+
+    /**
+     * Width of the {@link WormDotsIndicator} worm, the final position of its width spring
+     */
+    float getWormWidth(float positionOffset, boolean wrapping) {
+        return positionOffset >= 0.1f && positionOffset <= 0.9f && !wrapping ? dotsSize + step : dotsSize;
+    }
+
+    /**
+     * Tail of the worm in direct tracking mode: it follows the head during the second half of the swipe
+     */
+    float getTrackingWormTail(int position, float positionOffset, boolean wrapping) {
+        float start = horizontalMargin + position * step;
+        if (wrapping) {
+            // Slide back over the dots from the last page to the first one
+            return start + (horizontalMargin - start) * positionOffset;
+        }
+        return start + step * smoothStep(positionOffset * 2 - 1);
+    }
+
+    /**
+     * Head of the worm in direct tracking mode: it reaches the next dot during the first half of the swipe
+     */
+    float getTrackingWormHead(int position, float positionOffset, boolean wrapping) {
+        if (wrapping) {
+            return getTrackingWormTail(position, positionOffset, true) + dotsSize;
+        }
+        return horizontalMargin + position * step + dotsSize + step * smoothStep(positionOffset * 2);
+    }
+
+    private static float smoothStep(float x) {
+        float t = Math.max(0, Math.min(1, x));
+        return t * t * (3 - 2 * t);
+    }
+}
@@ -0,0 +1,57 @@
+package com.rorpheeyah.dotsindicator;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.test.espresso.IdlingResource;
+
+/**
+ * Idle once an indicator has nothing left to do, so UI tests can wait for the indicator instead of sleeping:
+ * its springs have settled, no selection or jump is still scrolling the pager and autoplay is stopped.
+ * Register it with {@code IdlingRegistry.getInstance().register(indicator.getIdlingResource())}.
+ * <p>
+ * The springs and autoplay advance on Choreographer frames, there is no hook to drive them from a test clock.
+ * An indicator with autoplay never becomes idle, stop it with {@code setAutoplayInterval(0)} in tests. Under
+ * Robolectric, where frames only run when the main looper is advanced, settle the springs with
+ * {@code skipToEnd()} rather than waiting on this resource.
+ *
+ * @author Matt Rorpheeyah
+ */
+public final class IndicatorIdlingResource implements IdlingResource {
+    interface Host {
+        /**
+         * @return true when no spring is running, the pager is at rest and autoplay is stopped
+         */
+        boolean isIdle();
+    }
+
+    private final String name;
+    private final Host host;
+    @Nullable private volatile ResourceCallback callback;
+
+    IndicatorIdlingResource(@NonNull String name, @NonNull Host host) {
+        this.name = name;
+        this.host = host;
+    }
+
+    @Override public String getName() {
+        return name;
+    }
+
+    @Override public boolean isIdleNow() {
+        return host.isIdle();
+    }
+
+    @Override public void registerIdleTransitionCallback(ResourceCallback callback) {
+        this.callback = callback;
+    }
+
+    /**
+     * A spring ended, the pager came to rest or autoplay stopped, tell Espresso if nothing else is pending
+     */
+    void onWorkEnd() {
+        ResourceCallback callback = this.callback;
+        if (callback != null && host.isIdle()) {
+            callback.onTransitionToIdle();
+        }
+    }
+}
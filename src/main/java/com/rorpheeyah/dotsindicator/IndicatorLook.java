@@ -0,0 +1,83 @@
+package com.rorpheeyah.dotsindicator;
+
+import android.graphics.Canvas;
+import android.graphics.Rect;
+import android.graphics.RectF;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * One look of the indicators, the stretched dots, the spring dot or the worm: how its row is measured, drawn,
+ * hit and moved with the scroll. The indicators and {@link IndicatorRenderer} only go through this interface,
+ * see {@link IndicatorRenderer#createLook} for the implementation of each type.
+ * <p>
+ * Every coordinate is relative to the row top left. The wrapping flags are true while the last page of a looping
+ * source scrolls toward the first one.
+ */
+interface IndicatorLook {
+    /**
+     * @return width in pixels of a row of count dots, resting on a page
+     */
+    int getWidth(int count);
+
+    /**
+     * @return height in pixels of the row
+     */
+    int getHeight();
+
+    int getCornerRadius();
+
+    /**
+     * @return index of the dot under x, clamped to the dots, or -1 if there is none
+     */
+    int getDotIndexAt(float x, int count, int position);
+
+    /**
+     * Touch slot of a dot with the same geometry as {@link #getDotIndexAt}, the row resting on position
+     */
+    void getDotBounds(int index, int position, @NonNull Rect out);
+
+    /**
+     * Drawing of a dot for the scroll, where labels and thumbnails go
+     */
+    void getDotDrawBounds(int index, int position, float positionOffset, boolean wrapping, @NonNull RectF out);
+
+    /**
+     * Selected dot, spring dot or worm resting on position, the one filled by the autoplay progress
+     */
+    void getSelectedDotBounds(int position, @NonNull RectF out);
+
+    /**
+     * @return true if the indicator chases the scroll with springs, false if it is drawn from the scroll directly
+     */
+    boolean hasSprings();
+
+    /**
+     * Left of the moving indicator for the scroll, the final position of its x spring
+     */
+    float getIndicatorX(int position, float positionOffset, boolean wrapping);
+
+    /**
+     * Width of the moving indicator for the scroll, the final position of its width spring
+     */
+    float getIndicatorWidth(int position, float positionOffset, boolean wrapping);
+
+    /**
+     * @param colors color by page of the selected dot or the moving indicator, null for the style colors
+     */
+    void setPalette(@Nullable int[] colors);
+
+    /**
+     * Draw the dots under the moving indicator, and under the thumbnails
+     */
+    void drawDots(@NonNull Canvas canvas, int count, int position, float positionOffset, boolean wrapping);
+
+    /**
+     * Draw the moving indicator over the dots, nothing for a look without one
+     *
+     * @param indicatorX left of the indicator, see {@link #getIndicatorX}
+     * @param indicatorWidth width of the indicator, see {@link #getIndicatorWidth}
+     */
+    void drawIndicator(@NonNull Canvas canvas, int position, float positionOffset, float indicatorX, float indicatorWidth);
+}
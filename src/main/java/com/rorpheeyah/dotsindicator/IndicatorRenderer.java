@@ -0,0 +1,108 @@
+package com.rorpheeyah.dotsindicator;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Rect;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Draws an indicator without any View, for app widgets, notifications or shared element snapshots.
+ * For the same style, page count, position and offset, the output has the geometry and colors of the live indicator,
+ * with the spring and worm at rest on their target.
+ * <p>
+ * A renderer touches no View nor resource, so it can be created and used on any thread. Drawing is synchronized,
+ * so a renderer can also be shared between threads.
+ *
+ * @author Matt Rorpheeyah
+ */
+public final class IndicatorRenderer {
+    public static final int TYPE_DOTS = 0;
+    public static final int TYPE_SPRING = 1;
+    public static final int TYPE_WORM = 2;
+
+    private final IndicatorLook look;
+
+    /**
+     * @param style style of the indicator, {@link IndicatorStyle#fromStyle} or its builder
+     * @param type {@link #TYPE_DOTS}, {@link #TYPE_SPRING} or {@link #TYPE_WORM}
+     */
+    public IndicatorRenderer(@NonNull IndicatorStyle style, int type) {
+        look = createLook(style, type);
+    }
+
+    /**
+     * The look of an indicator type, shared by the renderer and the indicator views
+     */
+    @NonNull
+    static IndicatorLook createLook(@NonNull IndicatorStyle style, int type) {
+        switch (type) {
+            case TYPE_DOTS:
+                return new DotsLook(style);
+            case TYPE_SPRING:
+                return new SpringLook(style);
+            case TYPE_WORM:
+                return new WormLook(style);
+            default:
+                throw new IllegalArgumentException("Unknown indicator type " + type);
+        }
+    }
+
+    /**
+     * @return width in pixels of an indicator of count pages, resting on a page
+     */
+    public int getWidth(int count) {
+        return look.getWidth(count);
+    }
+
+    /**
+     * @return height in pixels of the indicator
+     */
+    public int getHeight() {
+        return look.getHeight();
+    }
+
+    /**
+     * Find the dot under x with the same geometry as {@link #draw}
+     *
+     * @return index of the dot under x, or -1 if there is none
+     */
+    int getDotIndexAt(float x, int count, int position) {
+        return look.getDotIndexAt(x, count, position);
+    }
+
+    /**
+     * Slot of a dot with the same geometry as {@link #getDotIndexAt}, relative to the indicator top left
+     */
+    void getDotBounds(int index, int position, @NonNull Rect out) {
+        look.getDotBounds(index, position, out);
+    }
+
+    /**
+     * Draw the indicator from the canvas origin
+     *
+     * @param count number of pages
+     * @param position current page
+     * @param positionOffset value from [0, 1) indicating the offset from the page at position
+     */
+    public synchronized void draw(@NonNull Canvas canvas, int count, int position, float positionOffset) {
+        if (count <= 0) {
+            return;
+        }
+
+        position = Math.max(0, Math.min(position, count - 1));
+        look.drawDots(canvas, count, position, positionOffset, false);
+        look.drawIndicator(canvas, position, positionOffset, look.getIndicatorX(position, positionOffset, false),
+                look.getIndicatorWidth(position, positionOffset, false));
+    }
+
+    /**
+     * Render the indicator in a new bitmap of {@link #getWidth(int)} by {@link #getHeight()}
+     */
+    @NonNull
+    public Bitmap render(int count, int position, float positionOffset) {
+        Bitmap bitmap = Bitmap.createBitmap(Math.max(1, getWidth(count)), Math.max(1, getHeight()), Bitmap.Config.ARGB_8888);
+        draw(new Canvas(bitmap), count, position, positionOffset);
+        return bitmap;
+    }
+}
@@ -0,0 +1,39 @@
+package com.rorpheeyah.dotsindicator;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+import android.view.View;
+
+/**
+ * Logical position of an indicator, kept across configuration changes and process restore
+ */
+class IndicatorSavedState extends View.BaseSavedState {
+    int position;
+    float positionOffset;
+
+    IndicatorSavedState(Parcelable superState) {
+        super(superState);
+    }
+
+    private IndicatorSavedState(Parcel source) {
+        super(source);
+        position = source.readInt();
+        positionOffset = source.readFloat();
+    }
+
+    @Override public void writeToParcel(Parcel out, int flags) {
+        super.writeToParcel(out, flags);
+        out.writeInt(position);
+        out.writeFloat(positionOffset);
+    }
+
+    public static final Parcelable.Creator<IndicatorSavedState> CREATOR = new Parcelable.Creator<IndicatorSavedState>() {
+        @Override public IndicatorSavedState createFromParcel(Parcel source) {
+            return new IndicatorSavedState(source);
+        }
+
+        @Override public IndicatorSavedState[] newArray(int size) {
+            return new IndicatorSavedState[size];
+        }
+    };
+}
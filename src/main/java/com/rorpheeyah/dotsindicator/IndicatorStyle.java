@@ -0,0 +1,488 @@
+package com.rorpheeyah.dotsindicator;
+
+import android.content.Context;
+import android.content.res.TypedArray;
+import android.util.AttributeSet;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.StyleRes;
+
+import static com.rorpheeyah.dotsindicator.UiUtils.getThemePrimaryColor;
+
+/**
+ * Immutable look of an indicator, with every dimension already resolved in pixels.
+ * <p>
+ * A style can be resolved once, from XML attributes or with a {@link Builder}, and shared by any number
+ * of indicators on any thread. Building an indicator from a style does no resource lookup.
+ *
+ * @author Matt Rorpheeyah
+ */
+public final class IndicatorStyle {
+    public static final float DEFAULT_WIDTH_FACTOR = 2.5f;
+    public static final float DEFAULT_DAMPING_RATIO = 0.5f;
+    public static final float DEFAULT_STIFFNESS = 300;
+    public static final int DEFAULT_JUMP_THRESHOLD = 3;
+    public static final int DEFAULT_PROGRESS_COLOR = 0x66000000;
+
+    final int dotsColor;
+    final int selectedDotColor;
+    final int dotsStrokeColor;
+    final int dotsSize;
+    final int dotsSpacing;
+    final int dotsCornerRadius;
+    final int dotsStrokeWidth;
+    final float dotsWidthFactor;
+    final float stiffness;
+    final float dampingRatio;
+    final boolean dotsClickable;
+    final boolean dotsFilled;
+    final boolean allDots;
+    final int jumpThreshold;
+    final int horizontalMargin;
+    final int dotIndicatorAdditionalSize;
+    final int autoplayInterval;
+    final int progressColor;
+    final int dotsElevation;
+    final boolean scrollPrediction;
+    final boolean directTracking;
+    private final boolean hasStrokeColor;
+    private final boolean circular;
+
+    /**
+     * Indicator restyled in one pass by {@link Builder#apply()}
+     */
+    interface Editable {
+        void setStyle(@NonNull IndicatorStyle style);
+    }
+
+    private IndicatorStyle(Builder builder) {
+        dotsColor                   = builder.dotsColor;
+        selectedDotColor            = builder.selectedDotColor;
+        dotsStrokeColor             = builder.hasStrokeColor ? builder.dotsStrokeColor : builder.dotsColor;
+        dotsSize                    = builder.dotsSize;
+        dotsSpacing                 = builder.dotsSpacing;
+        dotsCornerRadius            = builder.dotsCornerRadius >= 0 ? builder.dotsCornerRadius : builder.dotsSize / 2;
+        dotsStrokeWidth             = builder.dotsStrokeWidth;
+        dotsWidthFactor             = builder.dotsWidthFactor;
+        stiffness                   = builder.stiffness;
+        dampingRatio                = builder.dampingRatio;
+        dotsClickable               = builder.dotsClickable;
+        dotsFilled                  = builder.dotsFilled;
+        allDots                     = builder.allDots;
+        jumpThreshold               = builder.jumpThreshold;
+        horizontalMargin            = builder.horizontalMargin;
+        dotIndicatorAdditionalSize  = builder.dotIndicatorAdditionalSize;
+        autoplayInterval            = builder.autoplayInterval;
+        progressColor               = builder.progressColor;
+        dotsElevation               = builder.dotsElevation;
+        scrollPrediction            = builder.scrollPrediction;
+        directTracking              = builder.directTracking;
+        hasStrokeColor              = builder.hasStrokeColor;
+        circular                    = builder.dotsCornerRadius < 0;
+    }
+
+    /**
+     * Resolve a style from layout attributes, with the library defaults for the missing ones.
+     */
+    @NonNull
+    public static IndicatorStyle fromAttributes(@NonNull Context context, @Nullable AttributeSet attrs) {
+        return obtain(context, attrs, 0, 0, new Builder(context));
+    }
+
+    /**
+     * Resolve a style from a style resource, with the library defaults for the missing attributes.
+     */
+    @NonNull
+    public static IndicatorStyle fromStyle(@NonNull Context context, @StyleRes int styleRes) {
+        return obtain(context, null, 0, styleRes, new Builder(context));
+    }
+
+    static IndicatorStyle obtain(@NonNull Context context, @Nullable AttributeSet attrs, int defStyleAttr,
+                                 @StyleRes int defStyleRes, @NonNull Builder defaults) {
+        if (attrs == null && defStyleAttr == 0 && defStyleRes == 0) {
+            return defaults.build();
+        }
+
+        TypedArray a = context.obtainStyledAttributes(attrs, R.styleable.IndicatorStyle, defStyleAttr, defStyleRes);
+        defaults.readAttributes(a);
+        a.recycle();
+        return defaults.build();
+    }
+
+    public int getDotsColor() {
+        return dotsColor;
+    }
+
+    public int getSelectedDotColor() {
+        return selectedDotColor;
+    }
+
+    public int getDotsStrokeColor() {
+        return dotsStrokeColor;
+    }
+
+    public int getDotsSize() {
+        return dotsSize;
+    }
+
+    public int getDotsSpacing() {
+        return dotsSpacing;
+    }
+
+    public int getDotsCornerRadius() {
+        return dotsCornerRadius;
+    }
+
+    public int getDotsStrokeWidth() {
+        return dotsStrokeWidth;
+    }
+
+    public float getDotsWidthFactor() {
+        return dotsWidthFactor;
+    }
+
+    public float getStiffness() {
+        return stiffness;
+    }
+
+    public float getDampingRatio() {
+        return dampingRatio;
+    }
+
+    public boolean isDotsClickable() {
+        return dotsClickable;
+    }
+
+    public boolean isDotsFilled() {
+        return dotsFilled;
+    }
+
+    public boolean isAllDots() {
+        return allDots;
+    }
+
+    public int getJumpThreshold() {
+        return jumpThreshold;
+    }
+
+    public int getHorizontalMargin() {
+        return horizontalMargin;
+    }
+
+    public int getAutoplayInterval() {
+        return autoplayInterval;
+    }
+
+    public int getProgressColor() {
+        return progressColor;
+    }
+
+    public int getDotsElevation() {
+        return dotsElevation;
+    }
+
+    public boolean isScrollPrediction() {
+        return scrollPrediction;
+    }
+
+    public boolean isDirectTracking() {
+        return directTracking;
+    }
+
+    /**
+     * Copy this style in a builder to derive a new one
+     */
+    @NonNull
+    public Builder buildUpon() {
+        return new Builder(this);
+    }
+
+    /**
+     * Builder of {@link IndicatorStyle}, every dimension is in pixels
+     */
+    public static final class Builder {
+        private int dotsColor;
+        private int selectedDotColor;
+        private int dotsStrokeColor;
+        private boolean hasStrokeColor;
+        private int dotsSize;
+        private int dotsSpacing;
+        private int dotsCornerRadius;
+        private int dotsStrokeWidth;
+        private float dotsWidthFactor;
+        private float stiffness;
+        private float dampingRatio;
+        private boolean dotsClickable;
+        private boolean dotsFilled;
+        private boolean allDots;
+        private int jumpThreshold;
+        private int horizontalMargin;
+        private int dotIndicatorAdditionalSize;
+        private int autoplayInterval;
+        private int progressColor;
+        private int dotsElevation;
+        private boolean scrollPrediction;
+        private boolean directTracking;
+        private Editable target;
+
+        /**
+         * Start from the library defaults, the theme primary color and the context density are resolved once here.
+         */
+        public Builder(@NonNull Context context) {
+            float density               = context.getResources().getDisplayMetrics().density;
+            dotsColor                   = getThemePrimaryColor(context);
+            selectedDotColor            = dotsColor;
+            dotsSize                    = (int) (density * 16);
+            dotsSpacing                 = (int) (density * 4);
+            dotsCornerRadius            = -1; // half of dotsSize for circularity
+            dotsStrokeWidth             = (int) (density * 2);
+            dotsWidthFactor             = DEFAULT_WIDTH_FACTOR;
+            stiffness                   = DEFAULT_STIFFNESS;
+            dampingRatio                = DEFAULT_DAMPING_RATIO;
+            dotsClickable               = true;
+            jumpThreshold               = DEFAULT_JUMP_THRESHOLD;
+            horizontalMargin            = (int) (density * 24);
+            dotIndicatorAdditionalSize  = (int) density; // 1dp additional to fill the stroke dots
+            progressColor               = DEFAULT_PROGRESS_COLOR;
+        }
+
+        public Builder(@NonNull IndicatorStyle style) {
+            dotsColor                   = style.dotsColor;
+            selectedDotColor            = style.selectedDotColor;
+            dotsStrokeColor             = style.dotsStrokeColor;
+            hasStrokeColor              = style.hasStrokeColor;
+            dotsSize                    = style.dotsSize;
+            dotsSpacing                 = style.dotsSpacing;
+            dotsCornerRadius            = style.circular ? -1 : style.dotsCornerRadius;
+            dotsStrokeWidth             = style.dotsStrokeWidth;
+            dotsWidthFactor             = style.dotsWidthFactor;
+            stiffness                   = style.stiffness;
+            dampingRatio                = style.dampingRatio;
+            dotsClickable               = style.dotsClickable;
+            dotsFilled                  = style.dotsFilled;
+            allDots                     = style.allDots;
+            jumpThreshold               = style.jumpThreshold;
+            horizontalMargin            = style.horizontalMargin;
+            dotIndicatorAdditionalSize  = style.dotIndicatorAdditionalSize;
+            autoplayInterval            = style.autoplayInterval;
+            progressColor               = style.progressColor;
+            dotsElevation               = style.dotsElevation;
+            scrollPrediction            = style.scrollPrediction;
+            directTracking              = style.directTracking;
+        }
+
+        /**
+         * Builder of an indicator {@code edit()}, {@link #apply()} restyles that indicator
+         */
+        @NonNull
+        Builder editing(@NonNull Editable target) {
+            this.target = target;
+            return this;
+        }
+
+        void readAttributes(@NonNull TypedArray a) {
+            dotsColor           = a.getColor(R.styleable.IndicatorStyle_dotsColor, dotsColor);
+            selectedDotColor    = a.getColor(R.styleable.IndicatorStyle_selectedDotColor, selectedDotColor);
+            if (a.hasValue(R.styleable.IndicatorStyle_dotsStrokeColor)) {
+                setDotsStrokeColor(a.getColor(R.styleable.IndicatorStyle_dotsStrokeColor, dotsStrokeColor));
+            }
+
+            dotsSize            = (int) a.getDimension(R.styleable.IndicatorStyle_dotsSize, dotsSize);
+            dotsSpacing         = (int) a.getDimension(R.styleable.IndicatorStyle_dotsSpacing, dotsSpacing);
+            if (a.hasValue(R.styleable.IndicatorStyle_dotsCornerRadius)) {
+                dotsCornerRadius = (int) a.getDimension(R.styleable.IndicatorStyle_dotsCornerRadius, dotsCornerRadius);
+            }
+            dotsStrokeWidth     = (int) a.getDimension(R.styleable.IndicatorStyle_dotsStrokeWidth, dotsStrokeWidth);
+            horizontalMargin    = (int) a.getDimension(R.styleable.IndicatorStyle_dotsHorizontalMargin, horizontalMargin);
+            setDotsWidthFactor(a.getFloat(R.styleable.IndicatorStyle_dotsWidthFactor, dotsWidthFactor));
+
+            stiffness           = a.getFloat(R.styleable.IndicatorStyle_stiffness, stiffness);
+            dampingRatio        = a.getFloat(R.styleable.IndicatorStyle_dampingRatio, dampingRatio);
+            dotsClickable       = a.getBoolean(R.styleable.IndicatorStyle_dotsClickable, dotsClickable);
+            dotsFilled          = a.getBoolean(R.styleable.IndicatorStyle_dots_filled, dotsFilled);
+            allDots             = a.getBoolean(R.styleable.IndicatorStyle_dots_all, allDots);
+            jumpThreshold       = a.getInt(R.styleable.IndicatorStyle_dotsJumpThreshold, jumpThreshold);
+            autoplayInterval    = a.getInt(R.styleable.IndicatorStyle_dotsAutoplayInterval, autoplayInterval);
+            progressColor       = a.getColor(R.styleable.IndicatorStyle_dotsProgressColor, progressColor);
+            dotsElevation       = (int) a.getDimension(R.styleable.IndicatorStyle_dotsElevation, dotsElevation);
+            scrollPrediction    = a.getBoolean(R.styleable.IndicatorStyle_dotsScrollPrediction, scrollPrediction);
+            directTracking      = a.getBoolean(R.styleable.IndicatorStyle_dotsDirectTracking, directTracking);
+        }
+
+        /**
+         * Color of the dots, and of the indicator dot for the spring and worm indicators
+         */
+        @NonNull
+        public Builder setDotsColor(int color) {
+            dotsColor = color;
+            return this;
+        }
+
+        @NonNull
+        public Builder setSelectedDotColor(int color) {
+            selectedDotColor = color;
+            return this;
+        }
+
+        /**
+         * Color of the stroke dots, by default the dots color
+         */
+        @NonNull
+        public Builder setDotsStrokeColor(int color) {
+            dotsStrokeColor = color;
+            hasStrokeColor = true;
+            return this;
+        }
+
+        @NonNull
+        public Builder setDotsSize(int size) {
+            dotsSize = size;
+            return this;
+        }
+
+        @NonNull
+        public Builder setDotsSpacing(int spacing) {
+            dotsSpacing = spacing;
+            return this;
+        }
+
+        /**
+         * Corner radius of the dots, a negative value keeps them circular
+         */
+        @NonNull
+        public Builder setDotsCornerRadius(int radius) {
+            dotsCornerRadius = radius;
+            return this;
+        }
+
+        @NonNull
+        public Builder setDotsStrokeWidth(int width) {
+            dotsStrokeWidth = width;
+            return this;
+        }
+
+        /**
+         * Scale factor of the selected dot, values under 1 fall back to {@link #DEFAULT_WIDTH_FACTOR}
+         */
+        @NonNull
+        public Builder setDotsWidthFactor(float widthFactor) {
+            dotsWidthFactor = widthFactor < 1 ? DEFAULT_WIDTH_FACTOR : widthFactor;
+            return this;
+        }
+
+        @NonNull
+        public Builder setStiffness(float stiffness) {
+            this.stiffness = stiffness;
+            return this;
+        }
+
+        @NonNull
+        public Builder setDampingRatio(float dampingRatio) {
+            this.dampingRatio = dampingRatio;
+            return this;
+        }
+
+        @NonNull
+        public Builder setDotsClickable(boolean clickable) {
+            dotsClickable = clickable;
+            return this;
+        }
+
+        /**
+         * Fill the stroke dots of the spring and worm indicators
+         */
+        @NonNull
+        public Builder setDotsFilled(boolean filled) {
+            dotsFilled = filled;
+            return this;
+        }
+
+        /**
+         * Make all dots of the dots indicator equally, the selected dot without width factor
+         */
+        @NonNull
+        public Builder setAllDots(boolean allDots) {
+            this.allDots = allDots;
+            return this;
+        }
+
+        @NonNull
+        public Builder setJumpThreshold(int jumpThreshold) {
+            this.jumpThreshold = jumpThreshold;
+            return this;
+        }
+
+        /**
+         * Margin around the stroke dots of the spring and worm indicators
+         */
+        @NonNull
+        public Builder setHorizontalMargin(int margin) {
+            horizontalMargin = margin;
+            return this;
+        }
+
+        /**
+         * Time on each page in milliseconds before the pager advances automatically, 0 to disable autoplay
+         */
+        @NonNull
+        public Builder setAutoplayInterval(int intervalMillis) {
+            autoplayInterval = intervalMillis;
+            return this;
+        }
+
+        /**
+         * Color of the fill drawn over the current dot until the next autoplay advance
+         */
+        @NonNull
+        public Builder setProgressColor(int color) {
+            progressColor = color;
+            return this;
+        }
+
+        /**
+         * Elevation of the dots, drawn as one pre-blurred shadow reused under every dot
+         */
+        @NonNull
+        public Builder setDotsElevation(int elevation) {
+            dotsElevation = elevation;
+            return this;
+        }
+
+        /**
+         * Aim the spring and worm indicators where a fling is heading rather than where the pager is,
+         * to make up for the spring lag without a stiffer spring
+         */
+        @NonNull
+        public Builder setScrollPrediction(boolean enabled) {
+            scrollPrediction = enabled;
+            return this;
+        }
+
+        /**
+         * Move the spring and worm indicators straight with the scroll, without spring
+         */
+        @NonNull
+        public Builder setDirectTracking(boolean directTracking) {
+            this.directTracking = directTracking;
+            return this;
+        }
+
+        @NonNull
+        public IndicatorStyle build() {
+            return new IndicatorStyle(this);
+        }
+
+        /**
+         * Restyle the indicator this builder comes from with every change at once, in a single invalidate and layout.
+         *
+         * @throws IllegalStateException if the builder was not obtained from an indicator {@code edit()}
+         */
+        public void apply() {
+            if (target == null) {
+                throw new IllegalStateException("apply() needs a builder obtained from an indicator edit()");
+            }
+            target.setStyle(build());
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.rorpheeyah.dotsindicator;
+
+import androidx.annotation.NonNull;
+
+/**
+ * {@link PagerSource} showing a fixed number of logical pages over a looping adapter, typically one returning
+ * {@code Integer.MAX_VALUE} from {@code getItemCount()} and mapping positions modulo its real count.
+ * <p>
+ * Positions are reported modulo the logical page count, so indicators create one dot per logical page and wrap
+ * from the last dot to the first whatever the adapter size.
+ *
+ * @author Matt Rorpheeyah
+ */
+public class LoopingPagerSource extends PagerSource {
+    private final PagerSource source;
+    private int pageCount;
+
+    private final Listener sourceListener = new Listener() {
+        @Override public void onPageCountChanged(int count) {
+            dispatchPageCountChanged();
+        }
+
+        @Override public void onPageScrolled(int position, float positionOffset, int positionOffsetPixels) {
+            if (pageCount > 0) {
+                dispatchPageScrolled(position % pageCount, positionOffset, positionOffsetPixels);
+            }
+        }
+
+        @Override public void onPageSelected(int position) {
+            if (pageCount > 0) {
+                dispatchPageSelected(position % pageCount);
+            }
+        }
+
+        @Override public void onPageScrollStateChanged(int state) {
+            dispatchPageScrollStateChanged(state);
+        }
+    };
+
+    /**
+     * @param source source of the looping container, {@link PagerSource#of} for a pager
+     * @param pageCount real number of pages behind the looping adapter
+     */
+    public LoopingPagerSource(@NonNull PagerSource source, int pageCount) {
+        this.source = source;
+        this.pageCount = pageCount;
+    }
+
+    public void setPageCount(int pageCount) {
+        if (this.pageCount != pageCount) {
+            this.pageCount = pageCount;
+            dispatchPageCountChanged();
+        }
+    }
+
+    @Override public int getPageCount() {
+        return source.getPageCount() > 0 ? pageCount : 0;
+    }
+
+    @Override public int getCurrentItem() {
+        return pageCount > 0 ? source.getCurrentItem() % pageCount : 0;
+    }
+
+    /**
+     * Go to the nearest adapter position showing the given logical page, in either direction
+     */
+    @Override public void setCurrentItem(int item, boolean smoothScroll) {
+        if (pageCount <= 0) {
+            return;
+        }
+
+        int current = source.getCurrentItem();
+        int delta = item - current % pageCount;
+        if (delta > pageCount / 2) {
+            delta -= pageCount;
+        } else if (delta < -pageCount / 2) {
+            delta += pageCount;
+        }
+        source.setCurrentItem(Math.max(0, current + delta), smoothScroll);
+    }
+
+    @Override public boolean isLooping() {
+        return true;
+    }
+
+    @Override protected void onAttach() {
+        source.addListener(sourceListener);
+    }
+
+    @Override protected void onDetach() {
+        source.removeListener(sourceListener);
+    }
+}
@@ -0,0 +1,61 @@
+package com.rorpheeyah.dotsindicator;
+
+/**
+ * {@link PagerSource} driven by hand, to follow any scrolling container with raw progress.
+ * <p>
+ * Dot taps call {@link #setCurrentItem(int, boolean)}, override it to scroll the container.
+ *
+ * @author Matt Rorpheeyah
+ */
+public class ManualPagerSource extends PagerSource {
+    private int pageCount;
+    private int currentItem;
+
+    public ManualPagerSource(int pageCount) {
+        this.pageCount = pageCount;
+    }
+
+    @Override public int getPageCount() {
+        return pageCount;
+    }
+
+    public void setPageCount(int pageCount) {
+        if (this.pageCount != pageCount) {
+            this.pageCount = pageCount;
+            dispatchPageCountChanged();
+        }
+    }
+
+    @Override public int getCurrentItem() {
+        return currentItem;
+    }
+
+    @Override public void setCurrentItem(int item, boolean smoothScroll) {
+        setProgress(item, 0);
+    }
+
+    /**
+     * Report the scroll progress of the container
+     *
+     * @param position position of the first page currently displayed
+     * @param positionOffset value from [0, 1) indicating the offset from the page at position
+     */
+    public void setProgress(int position, float positionOffset) {
+        dispatchPageScrolled(position, positionOffset, 0);
+        if (positionOffset == 0 && position != currentItem) {
+            currentItem = position;
+            dispatchPageSelected(position);
+        }
+    }
+
+    /**
+     * Report a change of scroll state of the container, one of the SCROLL_STATE constants
+     */
+    public void setScrollState(int state) {
+        dispatchPageScrollStateChanged(state);
+    }
+
+    @Override protected void onAttach() { }
+
+    @Override protected void onDetach() { }
+}
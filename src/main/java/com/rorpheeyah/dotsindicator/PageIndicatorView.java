@@ -0,0 +1,95 @@
+package com.rorpheeyah.dotsindicator;
+
+import android.content.Context;
+import android.content.res.TypedArray;
+import android.util.AttributeSet;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * One indicator View drawing the dots, spring or worm look, switched at runtime with {@link #setIndicatorType(int)}.
+ * The pager binding, labels, thumbnails and springs are kept across switches, only the look is replaced.
+ * <p>
+ * With auto-fit, the dots shrink so that the row fits the width given by the parent, see {@link #setAutoFit(boolean)}.
+ * <p>
+ * With sections, one dot is drawn by section with a compact row of the current section pages under it,
+ * see {@link #setSections(int...)}.
+ *
+ * @author Matt Rorpheeyah
+ */
+public class PageIndicatorView extends BaseDotsIndicator {
+    public static final int TYPE_DOTS = IndicatorRenderer.TYPE_DOTS;
+    public static final int TYPE_SPRING = IndicatorRenderer.TYPE_SPRING;
+    public static final int TYPE_WORM = IndicatorRenderer.TYPE_WORM;
+
+    public PageIndicatorView(Context context) {
+        this(context, null);
+    }
+
+    public PageIndicatorView(Context context, AttributeSet attrs) {
+        this(context, attrs, 0);
+    }
+
+    public PageIndicatorView(Context context, AttributeSet attrs, int defStyleAttr) {
+        super(context, attrs, defStyleAttr,
+                IndicatorStyle.obtain(context, attrs, defStyleAttr, 0, new IndicatorStyle.Builder(context)), TYPE_DOTS);
+
+        if (attrs != null) {
+            TypedArray a = context.obtainStyledAttributes(attrs, R.styleable.PageIndicatorView);
+            setIndicatorType(a.getInt(R.styleable.PageIndicatorView_dotsIndicatorType, TYPE_DOTS));
+            setAutoFitSizeRange(a.getDimensionPixelSize(R.styleable.PageIndicatorView_dotsMinSize, 0),
+                    a.getDimensionPixelSize(R.styleable.PageIndicatorView_dotsMaxSize, 0));
+            setAutoFit(a.getBoolean(R.styleable.PageIndicatorView_dotsAutoFit, false));
+            a.recycle();
+        }
+    }
+
+    /**
+     * Build the indicator in code from a style built or copied beforehand, the look is chosen by type
+     *
+     * @param type {@link #TYPE_DOTS}, {@link #TYPE_SPRING} or {@link #TYPE_WORM}
+     */
+    public PageIndicatorView(Context context, @NonNull IndicatorStyle style, int type) {
+        super(context, null, 0, style, type);
+    }
+
+    /**
+     * Switch between the dots, spring and worm looks, the pager stays bound
+     *
+     * @param type {@link #TYPE_DOTS}, {@link #TYPE_SPRING} or {@link #TYPE_WORM}
+     */
+    public void setIndicatorType(int type) {
+        setType(type);
+    }
+
+    public int getIndicatorType() {
+        return getType();
+    }
+
+    /**
+     * Shrink or grow the dots, spacing and margins so the row fits the width given by the parent.
+     * The size is computed at measure time, again only when the width or the page count changes.
+     */
+    public void setAutoFit(boolean autoFit) {
+        setAutoFitEnabled(autoFit);
+    }
+
+    /**
+     * @param minSize smallest auto-fit dots size in pixels, 0 for a quarter of the style dots size
+     * @param maxSize largest auto-fit dots size in pixels, 0 for the style dots size
+     */
+    public void setAutoFitSizeRange(int minSize, int maxSize) {
+        setAutoFitRange(minSize, maxSize);
+    }
+
+    /**
+     * Draw one dot by section and a compact row of the current section pages, for long sectioned content.
+     * The drawing cost is the number of sections plus the pages of one section, whatever the page count.
+     *
+     * @param sectionStarts first page of each section, from 0 and increasing. null to draw a dot by page.
+     */
+    public void setSections(@Nullable int... sectionStarts) {
+        setSectionStarts(sectionStarts);
+    }
+}
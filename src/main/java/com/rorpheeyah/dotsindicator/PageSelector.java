@@ -0,0 +1,122 @@
+package com.rorpheeyah.dotsindicator;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Jump policy shared by the indicators. Beyond the jump threshold the pager snaps next to the target without
+ * animation and only smooth-scrolls the last page, while the indicator goes straight to the target and ignores
+ * the scroll events in between. The jump ends when the pager reaches the target, settles anywhere else, is dragged,
+ * changes its page count or is sent somewhere else, so an interrupted jump never freezes the indicator.
+ */
+final class PageSelector {
+
+    interface Host {
+        @Nullable
+        PagerSource getPagerSource();
+
+        /**
+         * Place the indicator on the target of a jump, without animation
+         */
+        void onJump(int page);
+    }
+
+    private final Host host;
+    private int jumpThreshold;
+    private int jumpTarget = -1;
+    private boolean selecting;
+
+    PageSelector(@NonNull Host host) {
+        this.host = host;
+    }
+
+    /**
+     * @param jumpThreshold distance in pages, 0 to always smooth-scroll
+     */
+    void setJumpThreshold(int jumpThreshold) {
+        this.jumpThreshold = jumpThreshold;
+    }
+
+    int getJumpThreshold() {
+        return jumpThreshold;
+    }
+
+    /**
+     * @return number of pages of the attached pager, 0 without pager
+     */
+    int getPageCount() {
+        PagerSource pagerSource = host.getPagerSource();
+        return pagerSource != null ? pagerSource.getPageCount() : 0;
+    }
+
+    /**
+     * Smooth-scroll to the page after the current one, the first page comes after the last one
+     */
+    void selectNext() {
+        PagerSource pagerSource = host.getPagerSource();
+        if (pagerSource != null && pagerSource.getPageCount() > 0) {
+            select((pagerSource.getCurrentItem() + 1) % pagerSource.getPageCount(), true);
+        }
+    }
+
+    /**
+     * Move the attached pager to the given page
+     */
+    void select(int page, boolean smoothScroll) {
+        PagerSource pagerSource = host.getPagerSource();
+        if (pagerSource == null || page < 0 || page >= pagerSource.getPageCount()) {
+            return;
+        }
+
+        jumpTarget = -1;
+        int currentItem = pagerSource.getCurrentItem();
+        // The pager may report idle between the snap and the smooth scroll, that does not end the jump
+        selecting = true;
+        if (smoothScroll && jumpThreshold > 0 && Math.abs(page - currentItem) > jumpThreshold) {
+            jumpTarget = page;
+            host.onJump(page);
+            pagerSource.setCurrentItem(page > currentItem ? page - 1 : page + 1, false);
+        }
+        pagerSource.setCurrentItem(page, smoothScroll);
+        selecting = false;
+    }
+
+    /**
+     * @return true from a jump until the pager reaches its target or the jump is interrupted
+     */
+    boolean isJumping() {
+        return jumpTarget >= 0;
+    }
+
+    /**
+     * While a long jump settles, the intermediate scroll events are skipped until the pager reaches the target
+     *
+     * @return true if the indicator should ignore this scroll event
+     */
+    boolean skipFrame(int position, float positionOffset) {
+        if (jumpTarget < 0) {
+            return false;
+        }
+        if (position == jumpTarget && positionOffset == 0) {
+            jumpTarget = -1;
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * A drag cancels the jump in progress, and the pager coming to rest ends it wherever it stopped
+     */
+    void onScrollStateChanged(int state) {
+        if (state == PagerSource.SCROLL_STATE_DRAGGING || state == PagerSource.SCROLL_STATE_IDLE && !selecting) {
+            jumpTarget = -1;
+        }
+    }
+
+    /**
+     * The target may be gone with the pages
+     */
+    void onPageCountChanged() {
+        jumpTarget = -1;
+    }
+}
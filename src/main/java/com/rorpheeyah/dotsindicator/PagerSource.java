@@ -0,0 +1,178 @@
+package com.rorpheeyah.dotsindicator;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.viewpager.widget.ViewPager;
+import androidx.viewpager2.widget.ViewPager2;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Scrolling container an indicator can follow.
+ * <p>
+ * A source registers on its container only while it has listeners, and reports the page count,
+ * the scroll progress and the selected page with the {@link ViewPager} semantics.
+ * <p>
+ * The sources returned by the {@code of} factories are shared per container, so several indicators
+ * bound to the same pager cost a single callback and a single adapter observer.
+ *
+ * @author Matt Rorpheeyah
+ */
+public abstract class PagerSource {
+    public static final int SCROLL_STATE_IDLE = 0;
+    public static final int SCROLL_STATE_DRAGGING = 1;
+    public static final int SCROLL_STATE_SETTLING = 2;
+
+    public interface Listener {
+        /**
+         * @param count new number of pages
+         */
+        void onPageCountChanged(int count);
+
+        /**
+         * @param position position of the first page currently displayed
+         * @param positionOffset value from [0, 1) indicating the offset from the page at position
+         * @param positionOffsetPixels value in pixels indicating the offset from position
+         */
+        void onPageScrolled(int position, float positionOffset, int positionOffsetPixels);
+
+        void onPageSelected(int position);
+
+        /**
+         * @param state one of {@link #SCROLL_STATE_IDLE}, {@link #SCROLL_STATE_DRAGGING} or {@link #SCROLL_STATE_SETTLING}
+         */
+        void onPageScrollStateChanged(int state);
+    }
+
+    private static final Map<Object, WeakReference<PagerSource>> sources = new WeakHashMap<>();
+
+    private final List<Listener> listeners = new ArrayList<>();
+    private Listener[] dispatchListeners = new Listener[0];
+
+    /**
+     * Follow a {@link ViewPager} and its adapter
+     */
+    @NonNull
+    public static PagerSource of(@NonNull ViewPager viewPager) {
+        PagerSource source = getShared(viewPager);
+        return source != null ? source : putShared(viewPager, new ViewPagerSource(viewPager));
+    }
+
+    /**
+     * Follow a {@link ViewPager2} and its adapter
+     */
+    @NonNull
+    public static PagerSource of(@NonNull ViewPager2 viewPager2) {
+        PagerSource source = getShared(viewPager2);
+        return source != null ? source : putShared(viewPager2, new ViewPager2Source(viewPager2));
+    }
+
+    /**
+     * Follow a {@link RecyclerView} with a linear layout manager, typically paging with a PagerSnapHelper
+     */
+    @NonNull
+    public static PagerSource of(@NonNull RecyclerView recyclerView) {
+        PagerSource source = getShared(recyclerView);
+        return source != null ? source : putShared(recyclerView, new RecyclerViewSource(recyclerView));
+    }
+
+    /**
+     * Sources hold their container strongly, so the map only keeps them weakly: a source lives as long
+     * as an indicator references it, and the entry goes away with the container.
+     */
+    private static PagerSource getShared(Object container) {
+        WeakReference<PagerSource> reference = sources.get(container);
+        return reference != null ? reference.get() : null;
+    }
+
+    private static PagerSource putShared(Object container, PagerSource source) {
+        sources.put(container, new WeakReference<>(source));
+        return source;
+    }
+
+    public abstract int getPageCount();
+
+    public abstract int getCurrentItem();
+
+    public abstract void setCurrentItem(int item, boolean smoothScroll);
+
+    /**
+     * Whether the page after the last one is the first one, see {@link LoopingPagerSource}
+     */
+    public boolean isLooping() {
+        return false;
+    }
+
+    /**
+     * Register on the scrolling container, called when the first listener is added
+     */
+    protected abstract void onAttach();
+
+    /**
+     * Unregister from the scrolling container, called when the last listener is removed
+     */
+    protected abstract void onDetach();
+
+    public final void addListener(@NonNull Listener listener) {
+        if (listeners.contains(listener)) {
+            return;
+        }
+
+        listeners.add(listener);
+        dispatchListeners = listeners.toArray(new Listener[0]);
+        if (listeners.size() == 1) {
+            onAttach();
+        }
+    }
+
+    public final void removeListener(@NonNull Listener listener) {
+        if (!listeners.remove(listener)) {
+            return;
+        }
+
+        dispatchListeners = listeners.toArray(new Listener[0]);
+        if (listeners.isEmpty()) {
+            onDetach();
+        }
+    }
+
+    /**
+     * @return number of indicators following this source, the source is registered on its container while above 0
+     */
+    int getListenerCount() {
+        return listeners.size();
+    }
+
+    /**
+     * Notify every listener, the values are computed once whatever the number of indicators.
+     * Listeners added or removed during a dispatch take effect from the next one.
+     */
+    protected final void dispatchPageCountChanged() {
+        int count = getPageCount();
+        for (Listener listener : dispatchListeners) {
+            listener.onPageCountChanged(count);
+        }
+    }
+
+    protected final void dispatchPageScrolled(int position, float positionOffset, int positionOffsetPixels) {
+        for (Listener listener : dispatchListeners) {
+            listener.onPageScrolled(position, positionOffset, positionOffsetPixels);
+        }
+    }
+
+    protected final void dispatchPageSelected(int position) {
+        for (Listener listener : dispatchListeners) {
+            listener.onPageSelected(position);
+        }
+    }
+
+    protected final void dispatchPageScrollStateChanged(int state) {
+        for (Listener listener : dispatchListeners) {
+            listener.onPageScrollStateChanged(state);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.rorpheeyah.dotsindicator;
+
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * {@link PagerSource} of a {@link RecyclerView} laid out as a single row or column of pages.
+ * The scroll progress is read from the first child through the layout manager.
+ */
+final class RecyclerViewSource extends PagerSource {
+    private final RecyclerView recyclerView;
+    private RecyclerView.Adapter<?> adapter;
+    private int currentItem;
+    private int scrollState = SCROLL_STATE_IDLE;
+
+    private final RecyclerView.OnScrollListener scrollListener = new RecyclerView.OnScrollListener() {
+        @Override public void onScrollStateChanged(@NonNull RecyclerView recyclerView, int newState) {
+            scrollState = newState;
+            dispatchPageScrollStateChanged(newState);
+            if (newState == RecyclerView.SCROLL_STATE_IDLE) {
+                updateCurrentItem(findSettledItem());
+            }
+        }
+
+        @Override public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+            dispatchProgress();
+        }
+    };
+
+    private final RecyclerView.AdapterDataObserver adapterDataObserver = new ViewPager2Source.PageCountObserver(this);
+
+    RecyclerViewSource(@NonNull RecyclerView recyclerView) {
+        this.recyclerView = recyclerView;
+    }
+
+    @Override public int getPageCount() {
+        RecyclerView.Adapter<?> adapter = recyclerView.getAdapter();
+        return adapter != null ? adapter.getItemCount() : 0;
+    }
+
+    @Override public int getCurrentItem() {
+        return currentItem;
+    }
+
+    @Override public void setCurrentItem(int item, boolean smoothScroll) {
+        if (smoothScroll) {
+            recyclerView.smoothScrollToPosition(item);
+        } else {
+            recyclerView.scrollToPosition(item);
+            updateCurrentItem(item);
+        }
+    }
+
+    @Override protected void onAttach() {
+        recyclerView.addOnScrollListener(scrollListener);
+        setAdapter(recyclerView.getAdapter());
+        int settledItem = findSettledItem();
+        currentItem = settledItem != RecyclerView.NO_POSITION ? settledItem : 0;
+    }
+
+    @Override protected void onDetach() {
+        recyclerView.removeOnScrollListener(scrollListener);
+        setAdapter(null);
+    }
+
+    private void setAdapter(@Nullable RecyclerView.Adapter<?> newAdapter) {
+        if (adapter != null) {
+            adapter.unregisterAdapterDataObserver(adapterDataObserver);
+        }
+        adapter = newAdapter;
+        if (adapter != null) {
+            adapter.registerAdapterDataObserver(adapterDataObserver);
+        }
+    }
+
+    private void dispatchProgress() {
+        RecyclerView.LayoutManager layoutManager = recyclerView.getLayoutManager();
+        View firstChild = layoutManager != null ? layoutManager.getChildAt(0) : null;
+        if (firstChild == null) {
+            return;
+        }
+
+        int position = recyclerView.getChildAdapterPosition(firstChild);
+        if (position == RecyclerView.NO_POSITION) {
+            return;
+        }
+
+        int pageSize;
+        int offsetPixels;
+        if (layoutManager.canScrollHorizontally()) {
+            pageSize = layoutManager.getDecoratedMeasuredWidth(firstChild);
+            offsetPixels = recyclerView.getPaddingLeft() - layoutManager.getDecoratedLeft(firstChild);
+        } else {
+            pageSize = layoutManager.getDecoratedMeasuredHeight(firstChild);
+            offsetPixels = recyclerView.getPaddingTop() - layoutManager.getDecoratedTop(firstChild);
+        }
+
+        float positionOffset = pageSize > 0 ? (float) offsetPixels / pageSize : 0;
+        if (positionOffset < 0) {
+            positionOffset = 0;
+            offsetPixels = 0;
+        }
+        dispatchPageScrolled(position, positionOffset, offsetPixels);
+
+        if (scrollState == SCROLL_STATE_IDLE && offsetPixels == 0) {
+            updateCurrentItem(position);
+        }
+    }
+
+    /**
+     * Page under the start edge, or the next one when it is more than half visible
+     */
+    private int findSettledItem() {
+        RecyclerView.LayoutManager layoutManager = recyclerView.getLayoutManager();
+        View firstChild = layoutManager != null ? layoutManager.getChildAt(0) : null;
+        if (firstChild == null) {
+            return RecyclerView.NO_POSITION;
+        }
+
+        int position = recyclerView.getChildAdapterPosition(firstChild);
+        if (position == RecyclerView.NO_POSITION) {
+            return position;
+        }
+
+        boolean horizontal = layoutManager.canScrollHorizontally();
+        int pageSize = horizontal ? layoutManager.getDecoratedMeasuredWidth(firstChild) : layoutManager.getDecoratedMeasuredHeight(firstChild);
+        int offsetPixels = horizontal
+                ? recyclerView.getPaddingLeft() - layoutManager.getDecoratedLeft(firstChild)
+                : recyclerView.getPaddingTop() - layoutManager.getDecoratedTop(firstChild);
+        return offsetPixels * 2 > pageSize ? position + 1 : position;
+    }
+
+    private void updateCurrentItem(int item) {
+        if (item != RecyclerView.NO_POSITION && item != currentItem) {
+            currentItem = item;
+            dispatchPageSelected(item);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.rorpheeyah.dotsindicator;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Records the events a {@link PagerSource} sends to its indicators, with their time, in a compact binary stream
+ * that {@link ScrollEventReplayer} plays back into any indicator, on a device or in a JVM test.
+ * <p>
+ * Every event is a type byte, the time since the previous event in microseconds and its values, integers as varints.
+ * A write error stops the recording and is thrown by {@link #close()}.
+ *
+ * @author Matt Rorpheeyah
+ */
+public final class ScrollEventRecorder implements PagerSource.Listener, Closeable {
+    static final int MAGIC = 0x444F5453;
+    static final int VERSION = 1;
+
+    static final int EVENT_PAGE_COUNT_CHANGED = 0;
+    static final int EVENT_PAGE_SCROLLED = 1;
+    static final int EVENT_PAGE_SELECTED = 2;
+    static final int EVENT_SCROLL_STATE_CHANGED = 3;
+
+    private static final long NANOS_PER_MICRO = 1000;
+
+    private final DataOutputStream out;
+    @Nullable private PagerSource source;
+    private long lastTimeNanos;
+    @Nullable private IOException error;
+
+    /**
+     * @param out stream the events are written to, buffered by the recorder and closed with it
+     */
+    public ScrollEventRecorder(@NonNull OutputStream out) {
+        this.out = new DataOutputStream(new BufferedOutputStream(out));
+        try {
+            this.out.writeInt(MAGIC);
+            this.out.writeByte(VERSION);
+        } catch (IOException e) {
+            error = e;
+        }
+    }
+
+    /**
+     * Start recording a source, from its current page count and item
+     */
+    public void record(@NonNull PagerSource source) {
+        if (this.source != null) {
+            this.source.removeListener(this);
+        }
+
+        this.source = source;
+        onPageCountChanged(source.getPageCount());
+        onPageSelected(source.getCurrentItem());
+        source.addListener(this);
+    }
+
+    @Override public void onPageCountChanged(int count) {
+        if (startEvent(EVENT_PAGE_COUNT_CHANGED)) {
+            writeVarInt(count);
+        }
+    }
+
+    @Override public void onPageScrolled(int position, float positionOffset, int positionOffsetPixels) {
+        if (startEvent(EVENT_PAGE_SCROLLED)) {
+            writeVarInt(position);
+            writeFloat(positionOffset);
+            writeVarInt(positionOffsetPixels);
+        }
+    }
+
+    @Override public void onPageSelected(int position) {
+        if (startEvent(EVENT_PAGE_SELECTED)) {
+            writeVarInt(position);
+        }
+    }
+
+    @Override public void onPageScrollStateChanged(int state) {
+        if (startEvent(EVENT_SCROLL_STATE_CHANGED)) {
+            writeVarInt(state);
+        }
+    }
+
+    /**
+     * Stop recording and close the stream
+     *
+     * @throws IOException the first error met while recording or closing
+     */
+    @Override public void close() throws IOException {
+        if (source != null) {
+            source.removeListener(this);
+            source = null;
+        }
+
+        try {
+            out.close();
+        } catch (IOException e) {
+            if (error == null) {
+                error = e;
+            }
+        }
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    private boolean startEvent(int type) {
+        if (error != null) {
+            return false;
+        }
+
+        long now = System.nanoTime();
+        long delta = lastTimeNanos == 0 ? 0 : (now - lastTimeNanos) / NANOS_PER_MICRO;
+        lastTimeNanos = now;
+        try {
+            out.writeByte(type);
+        } catch (IOException e) {
+            error = e;
+            return false;
+        }
+        writeVarLong(delta);
+        return true;
+    }
+
+    private void writeFloat(float value) {
+        try {
+            out.writeFloat(value);
+        } catch (IOException e) {
+            error = e;
+        }
+    }
+
+    private void writeVarInt(int value) {
+        writeVarLong(value & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Seven bits per byte, the high bit set on every byte but the last
+     */
+    private void writeVarLong(long value) {
+        try {
+            while ((value & ~0x7FL) != 0) {
+                out.writeByte((int) (value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            out.writeByte((int) value);
+        } catch (IOException e) {
+            error = e;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.rorpheeyah.dotsindicator;
+
+import androidx.annotation.NonNull;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * {@link PagerSource} playing back a stream recorded by {@link ScrollEventRecorder}. Attach indicators with
+ * {@code setPagerSource}, then {@link #replay()} sends them every recorded event, as fast as they are handled,
+ * to measure the cost of a real gesture sequence in a test or a benchmark.
+ * <p>
+ * The stream is decoded once when the replayer is created, so a replay only dispatches events.
+ *
+ * @author Matt Rorpheeyah
+ */
+public final class ScrollEventReplayer extends PagerSource {
+    private static final int INITIAL_CAPACITY = 256;
+    private static final long NANOS_PER_MICRO = 1000;
+
+    private byte[] types = new byte[INITIAL_CAPACITY];
+    private long[] times = new long[INITIAL_CAPACITY];
+    private int[] values = new int[INITIAL_CAPACITY];
+    private float[] offsets = new float[INITIAL_CAPACITY];
+    private int[] pixels = new int[INITIAL_CAPACITY];
+    private int eventCount;
+
+    private int pageCount;
+    private int currentItem;
+
+    /**
+     * @param in recorded stream, read to its end but not closed
+     * @throws IOException if the stream is not a recording or is truncated
+     */
+    public ScrollEventReplayer(@NonNull InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+        if (data.readInt() != ScrollEventRecorder.MAGIC) {
+            throw new IOException("Not a scroll event recording");
+        }
+        int version = data.readUnsignedByte();
+        if (version != ScrollEventRecorder.VERSION) {
+            throw new IOException("Unsupported scroll event recording version " + version);
+        }
+
+        long time = 0;
+        int type;
+        while ((type = data.read()) >= 0) {
+            if (type > ScrollEventRecorder.EVENT_SCROLL_STATE_CHANGED) {
+                throw new IOException("Unknown scroll event " + type);
+            }
+
+            ensureCapacity();
+            time += readVarLong(data) * NANOS_PER_MICRO;
+            types[eventCount] = (byte) type;
+            times[eventCount] = time;
+            values[eventCount] = (int) readVarLong(data);
+            if (type == ScrollEventRecorder.EVENT_PAGE_SCROLLED) {
+                offsets[eventCount] = data.readFloat();
+                pixels[eventCount] = (int) readVarLong(data);
+            }
+            eventCount++;
+        }
+    }
+
+    /**
+     * @return number of recorded events
+     */
+    public int getEventCount() {
+        return eventCount;
+    }
+
+    /**
+     * @return time between the first and the last recorded event
+     */
+    public long getDurationNanos() {
+        return eventCount == 0 ? 0 : times[eventCount - 1];
+    }
+
+    /**
+     * Send every recorded event to the listeners
+     */
+    public void replay() {
+        replay(0, eventCount);
+    }
+
+    /**
+     * Send the recorded events from start, inclusive, to end, exclusive
+     */
+    public void replay(int start, int end) {
+        for (int i = start; i < end; i++) {
+            switch (types[i]) {
+                case ScrollEventRecorder.EVENT_PAGE_COUNT_CHANGED:
+                    pageCount = values[i];
+                    dispatchPageCountChanged();
+                    break;
+                case ScrollEventRecorder.EVENT_PAGE_SCROLLED:
+                    dispatchPageScrolled(values[i], offsets[i], pixels[i]);
+                    break;
+                case ScrollEventRecorder.EVENT_PAGE_SELECTED:
+                    currentItem = values[i];
+                    dispatchPageSelected(values[i]);
+                    break;
+                default:
+                    dispatchPageScrollStateChanged(values[i]);
+                    break;
+            }
+        }
+    }
+
+    @Override public int getPageCount() {
+        return pageCount;
+    }
+
+    @Override public int getCurrentItem() {
+        return currentItem;
+    }
+
+    /**
+     * The recording drives the pages, dot taps are ignored
+     */
+    @Override public void setCurrentItem(int item, boolean smoothScroll) { }
+
+    @Override protected void onAttach() { }
+
+    @Override protected void onDetach() { }
+
+    private void ensureCapacity() {
+        if (eventCount < types.length) {
+            return;
+        }
+
+        int capacity = types.length * 2;
+        types = Arrays.copyOf(types, capacity);
+        times = Arrays.copyOf(times, capacity);
+        values = Arrays.copyOf(values, capacity);
+        offsets = Arrays.copyOf(offsets, capacity);
+        pixels = Arrays.copyOf(pixels, capacity);
+    }
+
+    private static long readVarLong(DataInputStream data) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = data.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+}
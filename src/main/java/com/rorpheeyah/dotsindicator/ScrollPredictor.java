@@ -0,0 +1,82 @@
+package com.rorpheeyah.dotsindicator;
+
+/**
+ * Predicts where a pager scroll is heading, so a spring can aim ahead of the scroll instead of trailing it.
+ * The velocity is estimated from successive scroll offsets, and once the finger is lifted the page selected
+ * for settling is the target.
+ */
+final class ScrollPredictor {
+    /**
+     * How far ahead of the scroll the spring aims, about the lag of the indicator springs
+     */
+    private static final float LOOKAHEAD_SECONDS = 0.05f;
+    private static final float SMOOTHING = 0.5f;
+    private static final long MAX_SAMPLE_GAP_NANOS = 100_000_000L;
+    private static final float NANOS_PER_SECOND = 1e9f;
+
+    private float lastPage;
+    private long lastTimeNanos;
+    private float velocity;
+    private int settleTarget = -1;
+
+    /**
+     * The offset is already normalized by the page width, which gives the same velocity as the pixel offsets
+     * and also works for sources that do not report pixels.
+     */
+    void onScrolled(int position, float positionOffset) {
+        onScrolled(position, positionOffset, System.nanoTime());
+    }
+
+    /**
+     * @param timeNanos time of the scroll event, on the {@link System#nanoTime()} clock
+     */
+    void onScrolled(int position, float positionOffset, long timeNanos) {
+        float page = position + positionOffset;
+        long deltaNanos = timeNanos - lastTimeNanos;
+        if (lastTimeNanos != 0 && deltaNanos > 0 && deltaNanos < MAX_SAMPLE_GAP_NANOS) {
+            float sample = (page - lastPage) * NANOS_PER_SECOND / deltaNanos;
+            velocity += (sample - velocity) * SMOOTHING;
+        } else {
+            velocity = 0;
+        }
+        lastPage = page;
+        lastTimeNanos = timeNanos;
+    }
+
+    /**
+     * The page the pager settles on, selected when the finger is lifted
+     */
+    void onPageSelected(int position) {
+        settleTarget = position;
+    }
+
+    void onScrollStateChanged(int state) {
+        if (state == PagerSource.SCROLL_STATE_DRAGGING) {
+            settleTarget = -1;
+        } else if (state == PagerSource.SCROLL_STATE_IDLE) {
+            settleTarget = -1;
+            velocity = 0;
+            lastTimeNanos = 0;
+        }
+    }
+
+    /**
+     * @param page current scroll position in pages
+     * @param min first page
+     * @param max last page, a page beyond it wraps to the first one and is not predicted
+     * @return the predicted position, at most one page away from the current one
+     */
+    float predict(float page, float min, float max) {
+        if (page < min || page > max) {
+            return page;
+        }
+
+        float predicted;
+        if (settleTarget >= 0 && Math.abs(settleTarget - page) <= 1) {
+            predicted = settleTarget;
+        } else {
+            predicted = page + velocity * LOOKAHEAD_SECONDS;
+        }
+        return Math.max(Math.max(min, page - 1), Math.min(predicted, Math.min(max, page + 1)));
+    }
+}
@@ -0,0 +1,28 @@
+package com.rorpheeyah.dotsindicator;
+
+import androidx.annotation.NonNull;
+
+/**
+ * The {@link SpringDotsIndicator} look: a dot a little larger than the stroke dots slides along them, on a spring
+ * or with the scroll in direct tracking mode.
+ */
+final class SpringLook extends StrokeDotsLook {
+    SpringLook(@NonNull IndicatorStyle style) {
+        super(style);
+    }
+
+    @Override int getIndicatorHeight() {
+        return geometry.dotIndicatorSize;
+    }
+
+    @Override public float getIndicatorX(int position, float positionOffset, boolean wrapping) {
+        return geometry.getSpringX(position, positionOffset, wrapping);
+    }
+
+    /**
+     * The dot slides without stretching
+     */
+    @Override public float getIndicatorWidth(int position, float positionOffset, boolean wrapping) {
+        return geometry.dotIndicatorSize;
+    }
+}
@@ -0,0 +1,122 @@
+package com.rorpheeyah.dotsindicator;
+
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.graphics.drawable.GradientDrawable;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Stroke dots between the horizontal margins with an indicator moving over them, the row of the spring and worm looks.
+ * Subclasses only size and place the moving indicator.
+ */
+abstract class StrokeDotsLook implements IndicatorLook {
+    final IndicatorStyle style;
+    final IndicatorGeometry geometry;
+    private final GradientDrawable indicatorDrawable = new GradientDrawable();
+    private final GradientDrawable strokeDotDrawable = new GradientDrawable();
+    private ColorLut indicatorColorLut;
+
+    StrokeDotsLook(@NonNull IndicatorStyle style) {
+        this.style      = style;
+        geometry        = new IndicatorGeometry(style);
+
+        indicatorDrawable.setShape(GradientDrawable.RECTANGLE);
+        indicatorDrawable.setCornerRadius(style.dotsCornerRadius);
+        indicatorDrawable.setColor(style.dotsColor);
+        strokeDotDrawable.setShape(GradientDrawable.RECTANGLE);
+        strokeDotDrawable.setCornerRadius(style.dotsCornerRadius);
+        strokeDotDrawable.setStroke(style.dotsStrokeWidth, style.dotsStrokeColor);
+        strokeDotDrawable.setColor(style.dotsFilled ? style.dotsStrokeColor : Color.TRANSPARENT);
+    }
+
+    /**
+     * @return height of the moving indicator
+     */
+    abstract int getIndicatorHeight();
+
+    @Override public int getWidth(int count) {
+        return count * geometry.step + geometry.horizontalMargin * 2;
+    }
+
+    @Override public int getHeight() {
+        return Math.max(geometry.dotsSize, getIndicatorHeight());
+    }
+
+    @Override public int getCornerRadius() {
+        return style.dotsCornerRadius;
+    }
+
+    /**
+     * Every slot is step wide, after the margin
+     */
+    @Override public int getDotIndexAt(float x, int count, int position) {
+        if (count <= 0) {
+            return -1;
+        }
+
+        int index = (int) ((x - geometry.horizontalMargin) / geometry.step);
+        return Math.max(0, Math.min(index, count - 1));
+    }
+
+    @Override public void getDotBounds(int index, int position, @NonNull Rect out) {
+        int left = geometry.horizontalMargin + index * geometry.step;
+        out.set(left, 0, left + geometry.step, getHeight());
+    }
+
+    /**
+     * The stroke dots never move, only the indicator does
+     */
+    @Override public void getDotDrawBounds(int index, int position, float positionOffset, boolean wrapping,
+                                           @NonNull RectF out) {
+        float left = geometry.horizontalMargin + index * geometry.step + geometry.dotsSpacing;
+        float top = (getHeight() - geometry.dotsSize) / 2;
+        out.set(left, top, left + geometry.dotsSize, top + geometry.dotsSize);
+    }
+
+    @Override public void getSelectedDotBounds(int position, @NonNull RectF out) {
+        float left = getIndicatorX(position, 0, false) + geometry.dotsSpacing;
+        float top = (getHeight() - getIndicatorHeight()) / 2;
+        out.set(left, top, left + getIndicatorWidth(position, 0, false), top + getIndicatorHeight());
+    }
+
+    @Override public boolean hasSprings() {
+        return !style.directTracking;
+    }
+
+    /**
+     * The indicator crossing from a page to the next fades from the page color to the next one
+     */
+    @Override public void setPalette(@Nullable int[] colors) {
+        indicatorColorLut = colors != null ? ColorLut.cycle(colors) : null;
+        if (indicatorColorLut == null) {
+            indicatorDrawable.setColor(style.dotsColor);
+        }
+    }
+
+    @Override public void drawDots(@NonNull Canvas canvas, int count, int position, float positionOffset, boolean wrapping) {
+        for (int i = 0; i < count; i++) {
+            int left = geometry.horizontalMargin + i * geometry.step + geometry.dotsSpacing;
+            int top = (getHeight() - geometry.dotsSize) / 2;
+            strokeDotDrawable.setBounds(left, top, left + geometry.dotsSize, top + geometry.dotsSize);
+            strokeDotDrawable.draw(canvas);
+        }
+    }
+
+    @Override public void drawIndicator(@NonNull Canvas canvas, int position, float positionOffset,
+                                        float indicatorX, float indicatorWidth) {
+        if (indicatorColorLut != null) {
+            indicatorDrawable.setColor(indicatorColorLut.get(position, positionOffset));
+        }
+
+        int height = getIndicatorHeight();
+        indicatorDrawable.setBounds(0, 0, (int) indicatorWidth, height);
+        int saveCount = canvas.save();
+        canvas.translate(indicatorX + geometry.dotsSpacing, (getHeight() - height) / 2);
+        indicatorDrawable.draw(canvas);
+        canvas.restoreToCount(saveCount);
+    }
+}
@@ -0,0 +1,33 @@
+package com.rorpheeyah.dotsindicator;
+
+import android.graphics.Bitmap;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Supplies the page previews drawn in the dots of an indicator, see {@link BaseDotsIndicator#setThumbnailProvider}.
+ *
+ * @author Matt Rorpheeyah
+ */
+public interface ThumbnailProvider {
+    /**
+     * Called on the main thread.
+     *
+     * @return a stable key of the page image, its uri for instance. Thumbnails are cached by key and shared
+     * between the indicators.
+     */
+    @NonNull
+    String getThumbnailKey(int page);
+
+    /**
+     * Called on a background thread. The bitmap can be larger than requested, it is downsampled
+     * and center cropped to the dot size into a copy, and is not kept: it may be recycled once this returns.
+     *
+     * @param width width of the selected dot in pixels, to decode with a matching sample size
+     * @param height height of the dots in pixels
+     * @return the image of the page, null to keep a plain dot
+     */
+    @Nullable
+    Bitmap loadThumbnail(int page, int width, int height);
+}
@@ -0,0 +1,90 @@
+package com.rorpheeyah.dotsindicator;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.viewpager2.widget.ViewPager2;
+
+/**
+ * {@link PagerSource} of a {@link ViewPager2}
+ */
+final class ViewPager2Source extends PagerSource {
+    private final ViewPager2 viewPager2;
+    private RecyclerView.Adapter<?> adapter;
+
+    private final ViewPager2.OnPageChangeCallback pageChangeCallback = new ViewPager2.OnPageChangeCallback() {
+        @Override public void onPageScrolled(int position, float positionOffset, int positionOffsetPixels) {
+            dispatchPageScrolled(position, positionOffset, positionOffsetPixels);
+        }
+
+        @Override public void onPageSelected(int position) {
+            dispatchPageSelected(position);
+        }
+
+        @Override public void onPageScrollStateChanged(int state) {
+            dispatchPageScrollStateChanged(state);
+        }
+    };
+
+    private final RecyclerView.AdapterDataObserver adapterDataObserver = new PageCountObserver(this);
+
+    ViewPager2Source(@NonNull ViewPager2 viewPager2) {
+        this.viewPager2 = viewPager2;
+    }
+
+    @Override public int getPageCount() {
+        RecyclerView.Adapter<?> adapter = viewPager2.getAdapter();
+        return adapter != null ? adapter.getItemCount() : 0;
+    }
+
+    @Override public int getCurrentItem() {
+        return viewPager2.getCurrentItem();
+    }
+
+    @Override public void setCurrentItem(int item, boolean smoothScroll) {
+        viewPager2.setCurrentItem(item, smoothScroll);
+    }
+
+    @Override protected void onAttach() {
+        viewPager2.registerOnPageChangeCallback(pageChangeCallback);
+        setAdapter(viewPager2.getAdapter());
+    }
+
+    @Override protected void onDetach() {
+        viewPager2.unregisterOnPageChangeCallback(pageChangeCallback);
+        setAdapter(null);
+    }
+
+    private void setAdapter(@Nullable RecyclerView.Adapter<?> newAdapter) {
+        if (adapter != null) {
+            adapter.unregisterAdapterDataObserver(adapterDataObserver);
+        }
+        adapter = newAdapter;
+        if (adapter != null) {
+            adapter.registerAdapterDataObserver(adapterDataObserver);
+        }
+    }
+
+    /**
+     * Report any structural change of a RecyclerView adapter as a page count change
+     */
+    static final class PageCountObserver extends RecyclerView.AdapterDataObserver {
+        private final PagerSource source;
+
+        PageCountObserver(@NonNull PagerSource source) {
+            this.source = source;
+        }
+
+        @Override public void onChanged() {
+            source.dispatchPageCountChanged();
+        }
+
+        @Override public void onItemRangeInserted(int positionStart, int itemCount) {
+            source.dispatchPageCountChanged();
+        }
+
+        @Override public void onItemRangeRemoved(int positionStart, int itemCount) {
+            source.dispatchPageCountChanged();
+        }
+    }
+}
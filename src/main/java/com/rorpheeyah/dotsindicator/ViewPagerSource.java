@@ -0,0 +1,82 @@
+package com.rorpheeyah.dotsindicator;
+
+import android.database.DataSetObserver;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.viewpager.widget.PagerAdapter;
+import androidx.viewpager.widget.ViewPager;
+
+/**
+ * {@link PagerSource} of a {@link ViewPager}
+ */
+final class ViewPagerSource extends PagerSource {
+    private final ViewPager viewPager;
+    private PagerAdapter adapter;
+
+    private final ViewPager.OnPageChangeListener pageChangeListener = new ViewPager.OnPageChangeListener() {
+        @Override public void onPageScrolled(int position, float positionOffset, int positionOffsetPixels) {
+            dispatchPageScrolled(position, positionOffset, positionOffsetPixels);
+        }
+
+        @Override public void onPageSelected(int position) {
+            dispatchPageSelected(position);
+        }
+
+        @Override public void onPageScrollStateChanged(int state) {
+            dispatchPageScrollStateChanged(state);
+        }
+    };
+
+    private final ViewPager.OnAdapterChangeListener adapterChangeListener = new ViewPager.OnAdapterChangeListener() {
+        @Override public void onAdapterChanged(@NonNull ViewPager viewPager, @Nullable PagerAdapter oldAdapter, @Nullable PagerAdapter newAdapter) {
+            setAdapter(newAdapter);
+            dispatchPageCountChanged();
+        }
+    };
+
+    private final DataSetObserver dataSetObserver = new DataSetObserver() {
+        @Override public void onChanged() {
+            dispatchPageCountChanged();
+        }
+    };
+
+    ViewPagerSource(@NonNull ViewPager viewPager) {
+        this.viewPager = viewPager;
+    }
+
+    @Override public int getPageCount() {
+        PagerAdapter adapter = viewPager.getAdapter();
+        return adapter != null ? adapter.getCount() : 0;
+    }
+
+    @Override public int getCurrentItem() {
+        return viewPager.getCurrentItem();
+    }
+
+    @Override public void setCurrentItem(int item, boolean smoothScroll) {
+        viewPager.setCurrentItem(item, smoothScroll);
+    }
+
+    @Override protected void onAttach() {
+        viewPager.addOnPageChangeListener(pageChangeListener);
+        viewPager.addOnAdapterChangeListener(adapterChangeListener);
+        setAdapter(viewPager.getAdapter());
+    }
+
+    @Override protected void onDetach() {
+        viewPager.removeOnPageChangeListener(pageChangeListener);
+        viewPager.removeOnAdapterChangeListener(adapterChangeListener);
+        setAdapter(null);
+    }
+
+    private void setAdapter(@Nullable PagerAdapter newAdapter) {
+        if (adapter != null) {
+            adapter.unregisterDataSetObserver(dataSetObserver);
+        }
+        adapter = newAdapter;
+        if (adapter != null) {
+            adapter.registerDataSetObserver(dataSetObserver);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.rorpheeyah.dotsindicator;
+
+import androidx.annotation.NonNull;
+
+/**
+ * The {@link WormDotsIndicator} look: the worm stretches over the next dot then pulls its tail in. Its springs aim
+ * at steps of the swipe, while in direct tracking mode the head and tail follow smooth curves of the scroll.
+ */
+final class WormLook extends StrokeDotsLook {
+    WormLook(@NonNull IndicatorStyle style) {
+        super(style);
+    }
+
+    @Override int getIndicatorHeight() {
+        return geometry.dotsSize;
+    }
+
+    /**
+     * The worm head stays on the current dot until 10% of the scroll, its tail leaves it after 90%.
+     * From the last page of a looping source the worm does not stretch, it slides back to the first dot.
+     */
+    @Override public float getIndicatorX(int position, float positionOffset, boolean wrapping) {
+        if (style.directTracking) {
+            return geometry.getTrackingWormTail(position, positionOffset, wrapping);
+        }
+        return geometry.getWormX(position, positionOffset, wrapping);
+    }
+
+    @Override public float getIndicatorWidth(int position, float positionOffset, boolean wrapping) {
+        if (style.directTracking) {
+            return geometry.getTrackingWormHead(position, positionOffset, wrapping)
+                    - geometry.getTrackingWormTail(position, positionOffset, wrapping);
+        }
+        return geometry.getWormWidth(positionOffset, wrapping);
+    }
+}
@@ -0,0 +1,91 @@
+package com.rorpheeyah.dotsindicator;
+
+import android.graphics.Color;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Lookups in the precomputed color transitions match a per-channel interpolation of the palette.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class ColorLutTest {
+    private static final int RED = Color.argb(255, 255, 0, 0);
+    private static final int BLUE = Color.argb(255, 0, 0, 255);
+    private static final int TRANSLUCENT_GREEN = Color.argb(0, 0, 255, 0);
+
+    @Test
+    public void toward_endsOfRowAreExactColors() {
+        ColorLut lut = ColorLut.toward(new int[]{RED, TRANSLUCENT_GREEN}, BLUE);
+
+        assertEquals(RED, lut.get(0, 0));
+        assertEquals(BLUE, lut.get(0, 1));
+        assertEquals(TRANSLUCENT_GREEN, lut.get(1, 0));
+        assertEquals(BLUE, lut.get(1, 1));
+    }
+
+    @Test
+    public void toward_interpolatesEachChannel() {
+        ColorLut lut = ColorLut.toward(new int[]{TRANSLUCENT_GREEN}, RED);
+
+        for (int step = 0; step <= ColorLut.STEPS; step++) {
+            float fraction = (float) step / ColorLut.STEPS;
+            int color = lut.get(0, fraction);
+            assertChannel(255 * fraction, Color.alpha(color));
+            assertChannel(255 * fraction, Color.red(color));
+            assertChannel(255 - 255 * fraction, Color.green(color));
+            assertChannel(0, Color.blue(color));
+        }
+    }
+
+    @Test
+    public void get_roundsToNearestStep() {
+        ColorLut lut = ColorLut.toward(new int[]{RED}, BLUE);
+        float halfStep = 0.5f / ColorLut.STEPS;
+
+        assertEquals(lut.get(0, 0), lut.get(0, halfStep * 0.9f));
+        assertEquals(lut.get(0, 2f / ColorLut.STEPS), lut.get(0, 2f / ColorLut.STEPS + halfStep * 0.9f));
+        assertEquals(lut.get(0, 0.5f), lut.get(0, 0.5f - halfStep * 0.9f));
+    }
+
+    @Test
+    public void get_clampsFractionsOutOfRange() {
+        ColorLut lut = ColorLut.toward(new int[]{RED}, BLUE);
+
+        assertEquals(RED, lut.get(0, -0.5f));
+        assertEquals(BLUE, lut.get(0, 1.5f));
+    }
+
+    @Test
+    public void get_rowsRepeatOverPages() {
+        ColorLut lut = ColorLut.cycle(new int[]{RED, BLUE, TRANSLUCENT_GREEN});
+
+        for (int page = 0; page < 3; page++) {
+            for (float fraction = 0; fraction <= 1; fraction += 0.25f) {
+                assertEquals(lut.get(page, fraction), lut.get(page + 3, fraction));
+                assertEquals(lut.get(page, fraction), lut.get(page + 300, fraction));
+            }
+        }
+    }
+
+    @Test
+    public void cycle_fadesToNextColorAndWraps() {
+        ColorLut lut = ColorLut.cycle(new int[]{RED, BLUE, TRANSLUCENT_GREEN});
+
+        assertEquals(BLUE, lut.get(0, 1));
+        assertEquals(TRANSLUCENT_GREEN, lut.get(1, 1));
+        assertEquals(RED, lut.get(2, 1));
+        // The end of a row is the start of the next one, so the color does not jump between pages
+        for (int page = 0; page < 3; page++) {
+            assertEquals(lut.get(page, 1), lut.get(page + 1, 0));
+        }
+    }
+
+    private static void assertChannel(float expected, int actual) {
+        assertTrue("channel " + actual + " instead of " + expected, Math.abs(expected - actual) <= 1);
+    }
+}
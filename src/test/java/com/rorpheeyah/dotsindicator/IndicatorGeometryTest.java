@@ -0,0 +1,118 @@
+package com.rorpheeyah.dotsindicator;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Dot widths, spring and worm targets follow the scroll without jumps between pages, and slide back to the first dot
+ * when a looping source wraps.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class IndicatorGeometryTest {
+    private static final int SIZE = 10;
+    private static final int SPACING = 2;
+    private static final int STEP = SIZE + SPACING * 2;
+    private static final int MARGIN = 20;
+    private static final float EPSILON = 1e-3f;
+
+    private final IndicatorGeometry geometry = new IndicatorGeometry(new IndicatorStyle.Builder(RuntimeEnvironment.getApplication())
+            .setDotsSize(SIZE)
+            .setDotsSpacing(SPACING)
+            .setHorizontalMargin(MARGIN)
+            .setDotsWidthFactor(2.5f)
+            .setDotsFilled(true)
+            .build());
+
+    @Test
+    public void getDotWidth_stretchesWithTheWidthFactor() {
+        assertEquals(SIZE, geometry.getDotWidth(0));
+        assertEquals(25, geometry.getDotWidth(1));
+        assertEquals(17, geometry.getDotWidth(0.5f));
+    }
+
+    @Test
+    public void getSpringX_followsTheScroll() {
+        assertEquals(MARGIN, geometry.getSpringX(0, 0, false), EPSILON);
+        assertEquals(MARGIN + 2.5f * STEP, geometry.getSpringX(2, 0.5f, false), EPSILON);
+    }
+
+    @Test
+    public void getSpringX_isContinuousBetweenPages() {
+        for (int position = 0; position < 4; position++) {
+            assertEquals(geometry.getSpringX(position + 1, 0, false), geometry.getSpringX(position, 1, false), EPSILON);
+        }
+    }
+
+    @Test
+    public void getSpringX_slidesBackToTheFirstDotWhenWrapping() {
+        float lastX = geometry.getSpringX(4, 0, false);
+        float firstX = geometry.getSpringX(0, 0, false);
+
+        assertEquals(lastX, geometry.getSpringX(4, 0, true), EPSILON);
+        assertEquals((lastX + firstX) / 2, geometry.getSpringX(4, 0.5f, true), EPSILON);
+        assertEquals(firstX, geometry.getSpringX(4, 1, true), EPSILON);
+    }
+
+    @Test
+    public void getWormX_jumpsToTheNextDotAtTheEndOfTheSwipe() {
+        assertEquals(MARGIN + STEP, geometry.getWormX(1, 0.5f, false), EPSILON);
+        assertEquals(MARGIN + STEP, geometry.getWormX(1, 0.9f, false), EPSILON);
+        assertEquals(MARGIN + 2 * STEP, geometry.getWormX(1, 0.91f, false), EPSILON);
+        assertEquals(MARGIN, geometry.getWormX(4, 0.91f, true), EPSILON);
+    }
+
+    @Test
+    public void getWormWidth_stretchesOverTwoDotsMidSwipe() {
+        assertEquals(SIZE, geometry.getWormWidth(0.05f, false), EPSILON);
+        assertEquals(SIZE + STEP, geometry.getWormWidth(0.1f, false), EPSILON);
+        assertEquals(SIZE + STEP, geometry.getWormWidth(0.9f, false), EPSILON);
+        assertEquals(SIZE, geometry.getWormWidth(0.95f, false), EPSILON);
+        assertEquals(SIZE, geometry.getWormWidth(0.5f, true), EPSILON);
+    }
+
+    @Test
+    public void trackingWorm_headLeadsAndTailFollows() {
+        float start = MARGIN + STEP;
+
+        assertEquals(start, geometry.getTrackingWormTail(1, 0, false), EPSILON);
+        assertEquals(start + SIZE, geometry.getTrackingWormHead(1, 0, false), EPSILON);
+        // The head reaches the next dot halfway, the tail has not left yet
+        assertEquals(start, geometry.getTrackingWormTail(1, 0.5f, false), EPSILON);
+        assertEquals(start + STEP + SIZE, geometry.getTrackingWormHead(1, 0.5f, false), EPSILON);
+        assertEquals(start + STEP, geometry.getTrackingWormTail(1, 1, false), EPSILON);
+    }
+
+    @Test
+    public void trackingWorm_isContinuousAndNeverShrinksBelowADot() {
+        for (int position = 0; position < 4; position++) {
+            assertEquals(geometry.getTrackingWormTail(position + 1, 0, false),
+                    geometry.getTrackingWormTail(position, 1, false), EPSILON);
+            assertEquals(geometry.getTrackingWormHead(position + 1, 0, false),
+                    geometry.getTrackingWormHead(position, 1, false), EPSILON);
+        }
+
+        float previousTail = geometry.getTrackingWormTail(1, 0, false);
+        float previousHead = geometry.getTrackingWormHead(1, 0, false);
+        for (float offset = 0.05f; offset <= 1; offset += 0.05f) {
+            float tail = geometry.getTrackingWormTail(1, offset, false);
+            float head = geometry.getTrackingWormHead(1, offset, false);
+            assertTrue("tail at " + offset, tail >= previousTail);
+            assertTrue("head at " + offset, head >= previousHead);
+            assertTrue("width at " + offset, head - tail >= SIZE - EPSILON);
+            previousTail = tail;
+            previousHead = head;
+        }
+    }
+
+    @Test
+    public void trackingWorm_slidesBackToTheFirstDotWhenWrapping() {
+        assertEquals(MARGIN + 4 * STEP, geometry.getTrackingWormTail(4, 0, true), EPSILON);
+        assertEquals(MARGIN, geometry.getTrackingWormTail(4, 1, true), EPSILON);
+        assertEquals(geometry.getTrackingWormTail(4, 0.3f, true) + SIZE, geometry.getTrackingWormHead(4, 0.3f, true), EPSILON);
+    }
+}
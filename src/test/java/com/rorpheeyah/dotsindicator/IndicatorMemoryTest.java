@@ -0,0 +1,313 @@
+package com.rorpheeyah.dotsindicator;
+
+import android.app.Activity;
+import android.content.Context;
+import android.database.DataSetObserver;
+import android.graphics.drawable.Drawable;
+import android.os.Looper;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.viewpager.widget.PagerAdapter;
+import androidx.viewpager.widget.ViewPager;
+import androidx.viewpager2.widget.ViewPager2;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * Objects each indicator keeps per page, and leaks through the pager callbacks and adapter observers.
+ * <p>
+ * Both are checked on the object graph rather than on heap samples, so a failure is the same on every run.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class IndicatorMemoryTest {
+    private static final int[] PAGE_COUNTS = {10, 100, 1000};
+
+    // every look draws its dots itself, a page adds no View, drawable nor any other retained object
+    private static final int VIEWS_PER_PAGE = 0;
+    private static final int DRAWABLES_PER_PAGE = 0;
+    private static final int OBJECTS_PER_PAGE = 0;
+    private static final long BYTES_PER_PAGE = 0;
+
+    private Activity activity;
+    private FrameLayout root;
+
+    @Before
+    public void setUp() {
+        activity = Robolectric.buildActivity(Activity.class).setup().get();
+        root = new FrameLayout(activity);
+        activity.setContentView(root);
+    }
+
+    @Test
+    public void dotsIndicator_retainedObjectsWithinBudget() {
+        assertRetainedPerPage(Kind.DOTS);
+    }
+
+    @Test
+    public void springDotsIndicator_retainedObjectsWithinBudget() {
+        assertRetainedPerPage(Kind.SPRING);
+    }
+
+    @Test
+    public void wormDotsIndicator_retainedObjectsWithinBudget() {
+        assertRetainedPerPage(Kind.WORM);
+    }
+
+    @Test
+    public void pageIndicatorView_retainedObjectsWithinBudget() {
+        assertRetainedPerPage(Kind.PAGE);
+    }
+
+    @Test
+    public void detachedIndicator_notRetainedByViewPager() {
+        for (Kind kind : Kind.values()) {
+            CountingViewPager viewPager = new CountingViewPager(activity);
+            CountingPagerAdapter adapter = new CountingPagerAdapter(10);
+            viewPager.setAdapter(adapter);
+            root.addView(viewPager);
+
+            PagerSource pagerSource = PagerSource.of(viewPager);
+            assertNotRetainedAfterDetach(kind, pagerSource, viewPager);
+            assertEquals(kind + " page change listeners", 0, viewPager.pageChangeListeners);
+            assertEquals(kind + " adapter observers", 0, adapter.observers);
+            root.removeView(viewPager);
+        }
+    }
+
+    @Test
+    public void detachedIndicator_notRetainedByViewPager2() {
+        for (Kind kind : Kind.values()) {
+            ViewPager2 viewPager2 = new ViewPager2(activity);
+            CountingAdapter adapter = new CountingAdapter(10);
+            viewPager2.setAdapter(adapter);
+            root.addView(viewPager2);
+            int pagerObservers = adapter.observers;
+
+            assertNotRetainedAfterDetach(kind, PagerSource.of(viewPager2), viewPager2);
+            assertEquals(kind + " adapter observers", pagerObservers, adapter.observers);
+            root.removeView(viewPager2);
+        }
+    }
+
+    @Test
+    public void detachedIndicator_notRetainedByRecyclerView() {
+        for (Kind kind : Kind.values()) {
+            CountingRecyclerView recyclerView = new CountingRecyclerView(activity);
+            recyclerView.setLayoutManager(new LinearLayoutManager(activity, LinearLayoutManager.HORIZONTAL, false));
+            CountingAdapter adapter = new CountingAdapter(10);
+            recyclerView.setAdapter(adapter);
+            root.addView(recyclerView);
+            int pagerObservers = adapter.observers;
+            int pagerScrollListeners = recyclerView.scrollListeners;
+
+            assertNotRetainedAfterDetach(kind, PagerSource.of(recyclerView), recyclerView);
+            assertEquals(kind + " adapter observers", pagerObservers, adapter.observers);
+            assertEquals(kind + " scroll listeners", pagerScrollListeners, recyclerView.scrollListeners);
+            root.removeView(recyclerView);
+        }
+    }
+
+    @Test
+    public void droppedPager_notRetainedBySharedSource() {
+        for (Kind kind : Kind.values()) {
+            BaseDotsIndicator indicator = kind.create(activity);
+            root.addView(indicator);
+
+            ViewPager2 viewPager2 = new ViewPager2(activity);
+            viewPager2.setAdapter(new CountingAdapter(10));
+            root.addView(viewPager2);
+            indicator.setPagerSource(PagerSource.of(viewPager2));
+
+            root.removeView(indicator);
+            indicator.setPagerSource(null);
+            root.removeView(viewPager2);
+
+            assertFalse(kind + " source kept its pager", ReachableObjects.from(indicator).contains(viewPager2));
+        }
+    }
+
+    /**
+     * Pages beyond the first page count retain at most the per-page budgets, in Views, drawables, objects and
+     * shallow bytes. The first page count is the baseline so that state built once for any page is not counted.
+     */
+    private void assertRetainedPerPage(Kind kind) {
+        ReachableObjects baseline = ReachableObjects.from(create(kind, PAGE_COUNTS[0]));
+        for (int i = 1; i < PAGE_COUNTS.length; i++) {
+            int pageCount = PAGE_COUNTS[i];
+            int addedPages = pageCount - PAGE_COUNTS[0];
+            ReachableObjects reachable = ReachableObjects.from(create(kind, pageCount));
+            assertEquals(kind + " views for " + pageCount + " pages",
+                    baseline.count(View.class) + addedPages * VIEWS_PER_PAGE, reachable.count(View.class));
+            assertEquals(kind + " drawables for " + pageCount + " pages",
+                    baseline.count(Drawable.class) + addedPages * DRAWABLES_PER_PAGE, reachable.count(Drawable.class));
+            assertTrue(kind + " objects for " + pageCount + " pages: " + reachable.size() + ", " + baseline.size()
+                            + " for " + PAGE_COUNTS[0],
+                    reachable.size() <= baseline.size() + (long) addedPages * OBJECTS_PER_PAGE);
+            assertTrue(kind + " bytes for " + pageCount + " pages: " + reachable.shallowSize() + ", "
+                            + baseline.shallowSize() + " for " + PAGE_COUNTS[0],
+                    reachable.shallowSize() <= baseline.shallowSize() + addedPages * BYTES_PER_PAGE);
+        }
+    }
+
+    private View create(Kind kind, int pageCount) {
+        BaseDotsIndicator indicator = kind.create(activity);
+        indicator.setPagerSource(new ManualPagerSource(pageCount));
+        return indicator;
+    }
+
+    private void assertNotRetainedAfterDetach(Kind kind, PagerSource pagerSource, View pager) {
+        BaseDotsIndicator indicator = kind.create(activity);
+        root.addView(indicator);
+        indicator.setPagerSource(pagerSource);
+        shadowOf(Looper.getMainLooper()).idle();
+        assertEquals(kind + " listeners while attached", 1, pagerSource.getListenerCount());
+
+        root.removeView(indicator);
+        shadowOf(Looper.getMainLooper()).idle();
+        assertEquals(kind + " listeners after detach", 0, pagerSource.getListenerCount());
+        assertFalse(kind + " retained by its pager", ReachableObjects.from(pager).contains(indicator));
+    }
+
+    private enum Kind {
+        DOTS {
+            @Override BaseDotsIndicator create(Context context) {
+                return new DotsIndicator(context);
+            }
+        },
+        SPRING {
+            @Override BaseDotsIndicator create(Context context) {
+                return new SpringDotsIndicator(context);
+            }
+        },
+        WORM {
+            @Override BaseDotsIndicator create(Context context) {
+                return new WormDotsIndicator(context);
+            }
+        },
+        PAGE {
+            @Override BaseDotsIndicator create(Context context) {
+                return new PageIndicatorView(context);
+            }
+        };
+
+        abstract BaseDotsIndicator create(Context context);
+    }
+
+    private static final class CountingAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
+        private final int count;
+        int observers;
+
+        CountingAdapter(int count) {
+            this.count = count;
+        }
+
+        @NonNull @Override public RecyclerView.ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+            View page = new View(parent.getContext());
+            page.setLayoutParams(new ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.MATCH_PARENT));
+            return new RecyclerView.ViewHolder(page) { };
+        }
+
+        @Override public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position) { }
+
+        @Override public int getItemCount() {
+            return count;
+        }
+
+        @Override public void registerAdapterDataObserver(@NonNull RecyclerView.AdapterDataObserver observer) {
+            super.registerAdapterDataObserver(observer);
+            observers++;
+        }
+
+        @Override public void unregisterAdapterDataObserver(@NonNull RecyclerView.AdapterDataObserver observer) {
+            super.unregisterAdapterDataObserver(observer);
+            observers--;
+        }
+    }
+
+    private static final class CountingPagerAdapter extends PagerAdapter {
+        private final int count;
+        int observers;
+
+        CountingPagerAdapter(int count) {
+            this.count = count;
+        }
+
+        @Override public int getCount() {
+            return count;
+        }
+
+        @Override public boolean isViewFromObject(@NonNull View view, @NonNull Object object) {
+            return view == object;
+        }
+
+        @NonNull @Override public Object instantiateItem(@NonNull ViewGroup container, int position) {
+            View page = new View(container.getContext());
+            container.addView(page);
+            return page;
+        }
+
+        @Override public void destroyItem(@NonNull ViewGroup container, int position, @NonNull Object object) {
+            container.removeView((View) object);
+        }
+
+        @Override public void registerDataSetObserver(@NonNull DataSetObserver observer) {
+            super.registerDataSetObserver(observer);
+            observers++;
+        }
+
+        @Override public void unregisterDataSetObserver(@NonNull DataSetObserver observer) {
+            super.unregisterDataSetObserver(observer);
+            observers--;
+        }
+    }
+
+    private static final class CountingViewPager extends ViewPager {
+        int pageChangeListeners;
+
+        CountingViewPager(Context context) {
+            super(context);
+        }
+
+        @Override public void addOnPageChangeListener(@NonNull OnPageChangeListener listener) {
+            super.addOnPageChangeListener(listener);
+            pageChangeListeners++;
+        }
+
+        @Override public void removeOnPageChangeListener(@NonNull OnPageChangeListener listener) {
+            super.removeOnPageChangeListener(listener);
+            pageChangeListeners--;
+        }
+    }
+
+    private static final class CountingRecyclerView extends RecyclerView {
+        int scrollListeners;
+
+        CountingRecyclerView(Context context) {
+            super(context);
+        }
+
+        @Override public void addOnScrollListener(@NonNull OnScrollListener listener) {
+            super.addOnScrollListener(listener);
+            scrollListeners++;
+        }
+
+        @Override public void removeOnScrollListener(@NonNull OnScrollListener listener) {
+            super.removeOnScrollListener(listener);
+            scrollListeners--;
+        }
+    }
+}
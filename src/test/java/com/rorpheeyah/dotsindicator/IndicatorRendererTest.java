@@ -0,0 +1,95 @@
+package com.rorpheeyah.dotsindicator;
+
+import android.graphics.Rect;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Hit testing of the rendered indicator finds the dot drawn under x, the selected dot of the dots indicator
+ * being wider than the others.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class IndicatorRendererTest {
+    private static final int SIZE = 10;
+    private static final int STEP = 14;
+    private static final int MARGIN = 20;
+    private static final int COUNT = 5;
+
+    private final IndicatorStyle style = new IndicatorStyle.Builder(RuntimeEnvironment.getApplication())
+            .setDotsSize(SIZE)
+            .setDotsSpacing(2)
+            .setHorizontalMargin(MARGIN)
+            .setDotsWidthFactor(2.5f)
+            .build();
+
+    @Test
+    public void getDotIndexAt_dotsCoversTheStretchedSelectedDot() {
+        IndicatorRenderer renderer = new IndicatorRenderer(style, IndicatorRenderer.TYPE_DOTS);
+
+        // The selected dot 2 is 15px wider, from 28 to 57
+        assertEquals(1, renderer.getDotIndexAt(27, COUNT, 2));
+        assertEquals(2, renderer.getDotIndexAt(28, COUNT, 2));
+        assertEquals(2, renderer.getDotIndexAt(56, COUNT, 2));
+        assertEquals(3, renderer.getDotIndexAt(57, COUNT, 2));
+        assertEquals(4, renderer.getDotIndexAt(71, COUNT, 2));
+    }
+
+    @Test
+    public void getDotIndexAt_springAndWormSkipTheMargin() {
+        for (int type : new int[]{IndicatorRenderer.TYPE_SPRING, IndicatorRenderer.TYPE_WORM}) {
+            IndicatorRenderer renderer = new IndicatorRenderer(style, type);
+
+            assertEquals(0, renderer.getDotIndexAt(MARGIN + STEP - 1, COUNT, 3));
+            assertEquals(1, renderer.getDotIndexAt(MARGIN + STEP, COUNT, 3));
+            assertEquals(3, renderer.getDotIndexAt(MARGIN + 3 * STEP + 1, COUNT, 0));
+        }
+    }
+
+    @Test
+    public void getDotIndexAt_clampsToTheDots() {
+        for (int type = IndicatorRenderer.TYPE_DOTS; type <= IndicatorRenderer.TYPE_WORM; type++) {
+            IndicatorRenderer renderer = new IndicatorRenderer(style, type);
+
+            assertEquals(0, renderer.getDotIndexAt(-100, COUNT, 1));
+            assertEquals(COUNT - 1, renderer.getDotIndexAt(renderer.getWidth(COUNT) + 100, COUNT, 1));
+        }
+    }
+
+    @Test
+    public void getDotIndexAt_withoutDotsIsNone() {
+        IndicatorRenderer renderer = new IndicatorRenderer(style, IndicatorRenderer.TYPE_DOTS);
+
+        assertEquals(-1, renderer.getDotIndexAt(10, 0, 0));
+    }
+
+    @Test
+    public void getDotIndexAt_findsTheDotOfItsBounds() {
+        IndicatorStyle allDots = style.buildUpon().setAllDots(true).build();
+        IndicatorRenderer[] renderers = {
+                new IndicatorRenderer(style, IndicatorRenderer.TYPE_DOTS),
+                new IndicatorRenderer(allDots, IndicatorRenderer.TYPE_DOTS),
+                new IndicatorRenderer(style, IndicatorRenderer.TYPE_SPRING),
+                new IndicatorRenderer(style, IndicatorRenderer.TYPE_WORM),
+        };
+        Rect bounds = new Rect();
+
+        for (IndicatorRenderer renderer : renderers) {
+            for (int position = 0; position < COUNT; position++) {
+                for (int index = 0; index < COUNT; index++) {
+                    renderer.getDotBounds(index, position, bounds);
+                    assertEquals("dot " + index + " at " + position, index,
+                            renderer.getDotIndexAt(bounds.centerX(), COUNT, position));
+                    assertEquals("left of " + index + " at " + position, index,
+                            renderer.getDotIndexAt(bounds.left, COUNT, position));
+                    assertEquals("right of " + index + " at " + position, index,
+                            renderer.getDotIndexAt(bounds.right - 1, COUNT, position));
+                }
+            }
+        }
+    }
+}
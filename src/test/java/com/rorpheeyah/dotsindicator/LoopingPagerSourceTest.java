@@ -0,0 +1,113 @@
+package com.rorpheeyah.dotsindicator;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Logical pages over a looping adapter: positions are reported modulo the page count and a selection scrolls to the
+ * nearest adapter position showing the page.
+ */
+public class LoopingPagerSourceTest {
+    private static final int PAGE_COUNT = 5;
+    private static final int MIDDLE = 1000 * PAGE_COUNT;
+
+    @Test
+    public void setCurrentItem_goesForwardAcrossTheWrap() {
+        ManualPagerSource adapter = adapterAt(MIDDLE + 4);
+        new LoopingPagerSource(adapter, PAGE_COUNT).setCurrentItem(0, true);
+
+        assertEquals(MIDDLE + 5, adapter.getCurrentItem());
+    }
+
+    @Test
+    public void setCurrentItem_goesBackwardAcrossTheWrap() {
+        ManualPagerSource adapter = adapterAt(MIDDLE);
+        new LoopingPagerSource(adapter, PAGE_COUNT).setCurrentItem(4, true);
+
+        assertEquals(MIDDLE - 1, adapter.getCurrentItem());
+    }
+
+    @Test
+    public void setCurrentItem_staysInTheLoopWhenNearer() {
+        ManualPagerSource adapter = adapterAt(MIDDLE + 1);
+        LoopingPagerSource source = new LoopingPagerSource(adapter, PAGE_COUNT);
+
+        source.setCurrentItem(3, true);
+        assertEquals(MIDDLE + 3, adapter.getCurrentItem());
+        source.setCurrentItem(1, true);
+        assertEquals(MIDDLE + 1, adapter.getCurrentItem());
+    }
+
+    @Test
+    public void setCurrentItem_neverMovesMoreThanHalfTheLoop() {
+        for (int current = 0; current < PAGE_COUNT; current++) {
+            for (int target = 0; target < PAGE_COUNT; target++) {
+                ManualPagerSource adapter = adapterAt(MIDDLE + current);
+                LoopingPagerSource source = new LoopingPagerSource(adapter, PAGE_COUNT);
+                source.setCurrentItem(target, true);
+
+                assertEquals("logical page from " + current, target, source.getCurrentItem());
+                int distance = Math.abs(adapter.getCurrentItem() - (MIDDLE + current));
+                assertTrue("distance from " + current + " to " + target, distance <= PAGE_COUNT / 2);
+            }
+        }
+    }
+
+    @Test
+    public void setCurrentItem_neverScrollsBeforeTheFirstPosition() {
+        ManualPagerSource adapter = adapterAt(0);
+        new LoopingPagerSource(adapter, PAGE_COUNT).setCurrentItem(PAGE_COUNT - 1, true);
+
+        assertTrue(adapter.getCurrentItem() >= 0);
+    }
+
+    @Test
+    public void setCurrentItem_withoutPagesIsIgnored() {
+        ManualPagerSource adapter = adapterAt(MIDDLE + 2);
+        new LoopingPagerSource(adapter, 0).setCurrentItem(1, true);
+
+        assertEquals(MIDDLE + 2, adapter.getCurrentItem());
+    }
+
+    @Test
+    public void positions_areReportedModuloThePageCount() {
+        ManualPagerSource adapter = adapterAt(MIDDLE + 3);
+        LoopingPagerSource source = new LoopingPagerSource(adapter, PAGE_COUNT);
+        final List<String> events = new ArrayList<>();
+        source.addListener(new PagerSource.Listener() {
+            @Override public void onPageCountChanged(int count) { }
+
+            @Override public void onPageScrolled(int position, float positionOffset, int positionOffsetPixels) {
+                events.add("scrolled " + position + " " + positionOffset);
+            }
+
+            @Override public void onPageSelected(int position) {
+                events.add("selected " + position);
+            }
+
+            @Override public void onPageScrollStateChanged(int state) { }
+        });
+
+        assertEquals(3, source.getCurrentItem());
+        assertEquals(PAGE_COUNT, source.getPageCount());
+        adapter.setProgress(MIDDLE + 4, 0.5f);
+        adapter.setProgress(MIDDLE + 5, 0);
+
+        assertEquals(0, source.getCurrentItem());
+        assertEquals("scrolled 4 0.5", events.get(0));
+        assertEquals("scrolled 0 0.0", events.get(1));
+        assertEquals("selected 0", events.get(2));
+        assertTrue(source.isLooping());
+    }
+
+    private static ManualPagerSource adapterAt(int position) {
+        ManualPagerSource adapter = new ManualPagerSource(Integer.MAX_VALUE);
+        adapter.setCurrentItem(position, false);
+        return adapter;
+    }
+}
@@ -0,0 +1,139 @@
+package com.rorpheeyah.dotsindicator;
+
+import android.view.View.MeasureSpec;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Auto-fit picks the largest dots size whose rows fit the width given by the parent, within the size range,
+ * and the section of a page is found by stepping from the current section.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class PageIndicatorViewTest {
+    private static final int[] TYPES = {
+            PageIndicatorView.TYPE_DOTS, PageIndicatorView.TYPE_SPRING, PageIndicatorView.TYPE_WORM
+    };
+
+    private static final int[] SECTION_STARTS = {0, 4, 10, 11, 20};
+
+    private final IndicatorStyle style = new IndicatorStyle.Builder(RuntimeEnvironment.getApplication())
+            .setDotsSize(24)
+            .setDotsSpacing(5)
+            .setHorizontalMargin(17)
+            .setDotsWidthFactor(2.5f)
+            .build();
+
+    @Test
+    public void fitDotsSize_isTheLargestSizeFitting() {
+        assertEquals(10, BaseDotsIndicator.fitDotsSize(100, 10, 1, 50));
+        assertEquals(9, BaseDotsIndicator.fitDotsSize(99, 10, 1, 50));
+        assertEquals(33, BaseDotsIndicator.fitDotsSize(100, 3, 1, 50));
+    }
+
+    @Test
+    public void fitDotsSize_staysWithinTheRange() {
+        assertEquals(20, BaseDotsIndicator.fitDotsSize(1000, 10, 1, 20));
+        assertEquals(4, BaseDotsIndicator.fitDotsSize(10, 10, 4, 20));
+        assertEquals(4, BaseDotsIndicator.fitDotsSize(-10, 10, 4, 20));
+    }
+
+    @Test
+    public void autoFit_rowsFitTheAvailableWidth() {
+        for (int type : TYPES) {
+            for (int count = 1; count <= 40; count += 3) {
+                for (int width = 60; width <= 720; width += 7) {
+                    PageIndicatorView view = createView(type, count);
+                    measure(view, width);
+
+                    assertTrue("type " + type + ", " + count + " pages in " + width + "px: " + view.getContentWidth(),
+                            view.getContentWidth() <= width);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void autoFit_sectionRowsFitTheAvailableWidth() {
+        for (int type : TYPES) {
+            for (int width = 40; width <= 400; width += 7) {
+                PageIndicatorView view = createView(type, 60);
+                view.setSections(0, 12, 20, 35, 50);
+                measure(view, width);
+
+                assertTrue("type " + type + " in " + width + "px: " + view.getContentWidth(),
+                        view.getContentWidth() <= width);
+            }
+        }
+    }
+
+    @Test
+    public void autoFit_keepsTheStyleSizeWhenItFits() {
+        for (int type : TYPES) {
+            PageIndicatorView view = createView(type, 5);
+            int width = new IndicatorRenderer(style, type).getWidth(5);
+            measure(view, width);
+
+            assertEquals(width, view.getContentWidth());
+        }
+    }
+
+    @Test
+    public void findSection_stepsForwardOverSections() {
+        assertEquals(1, BaseDotsIndicator.findSection(SECTION_STARTS, 0, 4));
+        assertEquals(1, BaseDotsIndicator.findSection(SECTION_STARTS, 0, 9));
+        assertEquals(3, BaseDotsIndicator.findSection(SECTION_STARTS, 0, 11));
+        assertEquals(4, BaseDotsIndicator.findSection(SECTION_STARTS, 1, 25));
+    }
+
+    @Test
+    public void findSection_stepsBackwardOverSections() {
+        assertEquals(3, BaseDotsIndicator.findSection(SECTION_STARTS, 4, 19));
+        assertEquals(1, BaseDotsIndicator.findSection(SECTION_STARTS, 4, 5));
+        assertEquals(0, BaseDotsIndicator.findSection(SECTION_STARTS, 3, 3));
+    }
+
+    @Test
+    public void findSection_clampsTheSectionToStepFrom() {
+        assertEquals(4, BaseDotsIndicator.findSection(SECTION_STARTS, 12, 20));
+        assertEquals(2, BaseDotsIndicator.findSection(SECTION_STARTS, 12, 10));
+        assertEquals(1, BaseDotsIndicator.findSection(SECTION_STARTS, -3, 6));
+    }
+
+    @Test
+    public void findSection_isTheSameFromAnySection() {
+        for (int position = 0; position < 30; position++) {
+            int expected = BaseDotsIndicator.findSection(SECTION_STARTS, 0, position);
+            for (int from = 0; from < SECTION_STARTS.length; from++) {
+                assertEquals("page " + position + " from " + from, expected,
+                        BaseDotsIndicator.findSection(SECTION_STARTS, from, position));
+            }
+        }
+    }
+
+    @Test
+    public void countSections_ignoresSectionsPastTheLastPage() {
+        assertEquals(5, BaseDotsIndicator.countSections(SECTION_STARTS, 21));
+        assertEquals(4, BaseDotsIndicator.countSections(SECTION_STARTS, 20));
+        assertEquals(3, BaseDotsIndicator.countSections(SECTION_STARTS, 11));
+        assertEquals(1, BaseDotsIndicator.countSections(SECTION_STARTS, 0));
+    }
+
+    private PageIndicatorView createView(int type, int count) {
+        PageIndicatorView view = new PageIndicatorView(RuntimeEnvironment.getApplication(), style, type);
+        view.setAutoFit(true);
+        view.setAutoFitSizeRange(1, 0);
+        view.setPagerSource(new ManualPagerSource(count));
+        return view;
+    }
+
+    private static void measure(PageIndicatorView view, int width) {
+        view.measure(MeasureSpec.makeMeasureSpec(width, MeasureSpec.AT_MOST),
+                MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED));
+    }
+}
@@ -0,0 +1,120 @@
+package com.rorpheeyah.dotsindicator;
+
+import androidx.annotation.Nullable;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A long jump skips the scroll events until the pager reaches the target, and any interruption ends it so the
+ * indicator follows the pager again.
+ */
+public class PageSelectorTest {
+    private static final int PAGE_COUNT = 20;
+
+    private final ManualPagerSource pager = new ManualPagerSource(PAGE_COUNT) {
+        @Override public void setCurrentItem(int item, boolean smoothScroll) {
+            if (smoothScroll) {
+                // The smooth scroll is left to the test, only the snap is done here
+                return;
+            }
+            super.setCurrentItem(item, false);
+            setScrollState(SCROLL_STATE_IDLE);
+        }
+    };
+    private int jumpedTo = -1;
+    private final PageSelector selector = new PageSelector(new PageSelector.Host() {
+        @Nullable @Override public PagerSource getPagerSource() {
+            return pager;
+        }
+
+        @Override public void onJump(int page) {
+            jumpedTo = page;
+        }
+    });
+
+    {
+        pager.addListener(new PagerSource.Listener() {
+            @Override public void onPageCountChanged(int count) {
+                selector.onPageCountChanged();
+            }
+
+            @Override public void onPageScrolled(int position, float positionOffset, int positionOffsetPixels) { }
+
+            @Override public void onPageSelected(int position) { }
+
+            @Override public void onPageScrollStateChanged(int state) {
+                selector.onScrollStateChanged(state);
+            }
+        });
+        selector.setJumpThreshold(3);
+    }
+
+    @Test
+    public void select_nearPageDoesNotJump() {
+        selector.select(2, true);
+
+        assertEquals(-1, jumpedTo);
+        assertFalse(selector.skipFrame(0, 0.5f));
+    }
+
+    @Test
+    public void select_farPageJumpsAndSkipsUntilTheTarget() {
+        selector.select(10, true);
+
+        assertEquals(10, jumpedTo);
+        assertEquals(9, pager.getCurrentItem());
+        assertTrue(selector.skipFrame(9, 0.5f));
+        assertTrue(selector.skipFrame(9, 0.999f));
+        assertFalse(selector.skipFrame(10, 0));
+        assertFalse(selector.skipFrame(10, 0.2f));
+    }
+
+    @Test
+    public void isJumping_untilThePagerReachesTheTarget() {
+        assertFalse(selector.isJumping());
+        selector.select(10, true);
+        assertTrue(selector.isJumping());
+        selector.skipFrame(9, 0.5f);
+        assertTrue(selector.isJumping());
+        selector.skipFrame(10, 0);
+        assertFalse(selector.isJumping());
+    }
+
+    @Test
+    public void onScrollStateChanged_idleEndsTheJump() {
+        selector.select(10, true);
+        pager.setScrollState(PagerSource.SCROLL_STATE_SETTLING);
+        assertTrue(selector.skipFrame(9, 0.999f));
+        pager.setScrollState(PagerSource.SCROLL_STATE_IDLE);
+
+        assertFalse(selector.skipFrame(9, 0.999f));
+    }
+
+    @Test
+    public void onScrollStateChanged_dragEndsTheJump() {
+        selector.select(10, true);
+        pager.setScrollState(PagerSource.SCROLL_STATE_DRAGGING);
+
+        assertFalse(selector.skipFrame(9, 0.5f));
+    }
+
+    @Test
+    public void select_againEndsTheJump() {
+        selector.select(10, true);
+        selector.select(8, true);
+
+        assertFalse(selector.skipFrame(9, 0.5f));
+    }
+
+    @Test
+    public void onPageCountChanged_endsTheJump() {
+        selector.select(10, true);
+        pager.setPageCount(5);
+
+        assertFalse(selector.skipFrame(4, 0));
+    }
+}
@@ -0,0 +1,172 @@
+package com.rorpheeyah.dotsindicator;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.view.View;
+
+import java.lang.ref.Reference;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Objects strongly reachable from a root through instance fields, without leaving it through its parent view,
+ * its window or its context. Walking the graph is deterministic where sampling the heap after a GC is not.
+ * <p>
+ * JDK objects are not walked by reflection, only collections, maps and arrays are walked through their elements.
+ * Their own fields still count in {@link #shallowSize()}.
+ */
+final class ReachableObjects {
+    private final Set<Object> objects = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+
+    private ReachableObjects(Object root) {
+        Deque<Object> queue = new ArrayDeque<>();
+        visit(root, queue);
+        while (!queue.isEmpty()) {
+            walk(queue.poll(), queue);
+        }
+    }
+
+    static ReachableObjects from(Object root) {
+        return new ReachableObjects(root);
+    }
+
+    int size() {
+        return objects.size();
+    }
+
+    boolean contains(Object object) {
+        return objects.contains(object);
+    }
+
+    /**
+     * @return number of reachable instances of type, subclasses included
+     */
+    int count(Class<?> type) {
+        int count = 0;
+        for (Object object : objects) {
+            if (type.isInstance(object)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Sum of the shallow sizes of the reachable objects, as a 64-bit JVM with compressed references lays them out:
+     * a 12 byte header, or 16 for an array, 4 bytes per reference, every object padded to 8 bytes. The estimate
+     * is the same on every JVM, unlike the real layout.
+     */
+    long shallowSize() {
+        long size = 0;
+        for (Object object : objects) {
+            size += shallowSize(object);
+        }
+        return size;
+    }
+
+    private static long shallowSize(Object object) {
+        Class<?> type = object.getClass();
+        long size;
+        if (type.isArray()) {
+            size = 16 + (long) Array.getLength(object) * sizeOf(type.getComponentType());
+        } else {
+            size = 12;
+            for (; type != null; type = type.getSuperclass()) {
+                for (Field field : type.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers())) {
+                        size += sizeOf(field.getType());
+                    }
+                }
+            }
+        }
+        return (size + 7) / 8 * 8;
+    }
+
+    private static int sizeOf(Class<?> type) {
+        if (type == long.class || type == double.class) {
+            return 8;
+        } else if (type == int.class || type == float.class) {
+            return 4;
+        } else if (type == short.class || type == char.class) {
+            return 2;
+        } else if (type == byte.class || type == boolean.class) {
+            return 1;
+        }
+        return 4;
+    }
+
+    private void visit(Object object, Deque<Object> queue) {
+        if (object != null && !isBoundary(object) && objects.add(object)) {
+            queue.add(object);
+        }
+    }
+
+    private void walk(Object object, Deque<Object> queue) {
+        Class<?> type = object.getClass();
+        if (type.isArray()) {
+            if (!type.getComponentType().isPrimitive()) {
+                for (int i = 0, length = Array.getLength(object); i < length; i++) {
+                    visit(Array.get(object, i), queue);
+                }
+            }
+        } else if (object instanceof Map) {
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) object).entrySet()) {
+                if (!(object instanceof WeakHashMap)) {
+                    visit(entry.getKey(), queue);
+                }
+                visit(entry.getValue(), queue);
+            }
+        } else if (object instanceof Collection) {
+            for (Object element : (Collection<?>) object) {
+                visit(element, queue);
+            }
+        } else if (!(object instanceof Reference) && !type.getName().startsWith("java.")) {
+            for (; type != null; type = type.getSuperclass()) {
+                for (Field field : type.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers()) && !field.getType().isPrimitive()
+                            && !isOutwardField(field)) {
+                        visit(read(field, object), queue);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Shared by everything in the process, never owned by the walked graph
+     */
+    private static boolean isBoundary(Object object) {
+        return object instanceof Context || object instanceof Resources || object instanceof Resources.Theme
+                || object instanceof Looper || object instanceof Handler || object instanceof MessageQueue
+                || object instanceof Thread || object instanceof ClassLoader || object instanceof Class;
+    }
+
+    /**
+     * A view does not own its parent nor the window it is attached to
+     */
+    private static boolean isOutwardField(Field field) {
+        return field.getDeclaringClass() == View.class
+                && (field.getName().equals("mParent") || field.getName().equals("mAttachInfo"));
+    }
+
+    private static Object read(Field field, Object object) {
+        try {
+            field.setAccessible(true);
+            return field.get(object);
+        } catch (IllegalAccessException | RuntimeException e) {
+            return null;
+        }
+    }
+}
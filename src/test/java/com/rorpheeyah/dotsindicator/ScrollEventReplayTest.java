@@ -0,0 +1,88 @@
+package com.rorpheeyah.dotsindicator;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A recorded event stream plays back the same events, in order, on the JVM without any device.
+ */
+public class ScrollEventReplayTest {
+
+    @Test
+    public void replay_dispatchesRecordedEvents() throws IOException {
+        ManualPagerSource source = new ManualPagerSource(5);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ScrollEventRecorder recorder = new ScrollEventRecorder(out);
+        EventLog recorded = new EventLog();
+        recorded.onPageCountChanged(source.getPageCount());
+        recorded.onPageSelected(source.getCurrentItem());
+        source.addListener(recorded);
+        recorder.record(source);
+
+        source.setScrollState(PagerSource.SCROLL_STATE_DRAGGING);
+        for (int i = 0; i <= 10; i++) {
+            source.setProgress(i / 10, (i % 10) / 10f);
+        }
+        source.setScrollState(PagerSource.SCROLL_STATE_IDLE);
+        source.setPageCount(300);
+        source.setProgress(250, 0.5f);
+        recorder.close();
+
+        ScrollEventReplayer replayer = new ScrollEventReplayer(new ByteArrayInputStream(out.toByteArray()));
+        EventLog replayed = new EventLog();
+        replayer.addListener(replayed);
+        replayer.replay();
+
+        assertEquals(recorded.events, replayed.events);
+        assertEquals(recorded.events.size(), replayer.getEventCount());
+        assertEquals(300, replayer.getPageCount());
+        assertEquals(1, replayer.getCurrentItem());
+        assertTrue(replayer.getDurationNanos() >= 0);
+    }
+
+    @Test
+    public void recording_isCompact() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ScrollEventRecorder recorder = new ScrollEventRecorder(out);
+        for (int i = 0; i < 1000; i++) {
+            recorder.onPageScrolled(i / 100, (i % 100) / 100f, i % 100 * 10);
+        }
+        recorder.close();
+
+        // Type, time delta, position, offset and pixels: well under the 17 bytes of fixed size fields
+        assertTrue(out.size() < 1000 * 12);
+    }
+
+    @Test(expected = IOException.class)
+    public void replayer_rejectsOtherStreams() throws IOException {
+        new ScrollEventReplayer(new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 5}));
+    }
+
+    private static final class EventLog implements PagerSource.Listener {
+        final List<String> events = new ArrayList<>();
+
+        @Override public void onPageCountChanged(int count) {
+            events.add("count " + count);
+        }
+
+        @Override public void onPageScrolled(int position, float positionOffset, int positionOffsetPixels) {
+            events.add("scrolled " + position + " " + positionOffset + " " + positionOffsetPixels);
+        }
+
+        @Override public void onPageSelected(int position) {
+            events.add("selected " + position);
+        }
+
+        @Override public void onPageScrollStateChanged(int state) {
+            events.add("state " + state);
+        }
+    }
+}
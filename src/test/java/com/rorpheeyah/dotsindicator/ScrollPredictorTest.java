@@ -0,0 +1,122 @@
+package com.rorpheeyah.dotsindicator;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The predictor aims ahead of a steady scroll by its velocity, at most one page away, and aims at the settle target
+ * once the finger is lifted.
+ */
+public class ScrollPredictorTest {
+    private static final long FRAME_NANOS = 16_000_000L;
+    private static final long START_NANOS = 1_000_000_000L;
+    private static final float LOOKAHEAD_SECONDS = 0.05f;
+    private static final float EPSILON = 1e-3f;
+
+    @Test
+    public void predict_withoutSamplesIsThePage() {
+        ScrollPredictor predictor = new ScrollPredictor();
+
+        assertEquals(2.3f, predictor.predict(2.3f, 0, 9), EPSILON);
+    }
+
+    @Test
+    public void predict_aimsAheadOfSteadyScroll() {
+        ScrollPredictor predictor = new ScrollPredictor();
+        float page = scroll(predictor, 1, 0.01f, 20);
+
+        // 0.01 page per 16ms frame
+        float velocity = 0.01f * 1e9f / FRAME_NANOS;
+        assertEquals(page + velocity * LOOKAHEAD_SECONDS, predictor.predict(page, 0, 9), EPSILON);
+    }
+
+    @Test
+    public void predict_aimsBehindBackwardScroll() {
+        ScrollPredictor predictor = new ScrollPredictor();
+        float page = scroll(predictor, 4, -0.01f, 20);
+
+        assertTrue(predictor.predict(page, 0, 9) < page);
+    }
+
+    @Test
+    public void predict_staysWithinOnePageAndTheBounds() {
+        ScrollPredictor predictor = new ScrollPredictor();
+        float page = scroll(predictor, 1, 0.5f, 5);
+
+        assertEquals(page + 1, predictor.predict(page, 0, 9), EPSILON);
+        assertEquals(3.5f, predictor.predict(3.2f, 0, 3.5f), EPSILON);
+    }
+
+    @Test
+    public void predict_outsideTheBoundsIsThePage() {
+        ScrollPredictor predictor = new ScrollPredictor();
+        scroll(predictor, 8, 0.05f, 10);
+
+        assertEquals(9.4f, predictor.predict(9.4f, 0, 9), EPSILON);
+        assertEquals(-0.2f, predictor.predict(-0.2f, 0, 9), EPSILON);
+    }
+
+    @Test
+    public void onScrolled_gapBetweenSamplesResetsVelocity() {
+        ScrollPredictor predictor = new ScrollPredictor();
+        scroll(predictor, 1, 0.01f, 20);
+        predictor.onScrolled(1, 0.5f, START_NANOS + 20 * FRAME_NANOS + 200_000_000L);
+
+        assertEquals(1.5f, predictor.predict(1.5f, 0, 9), EPSILON);
+    }
+
+    @Test
+    public void predict_aimsAtSettleTargetWithinOnePage() {
+        ScrollPredictor predictor = new ScrollPredictor();
+        float page = scroll(predictor, 1, 0.01f, 20);
+        predictor.onScrollStateChanged(PagerSource.SCROLL_STATE_SETTLING);
+        predictor.onPageSelected(1);
+
+        assertEquals(1, predictor.predict(page, 0, 9), EPSILON);
+    }
+
+    @Test
+    public void predict_ignoresSettleTargetFurtherThanOnePage() {
+        ScrollPredictor predictor = new ScrollPredictor();
+        float page = scroll(predictor, 1, 0.01f, 20);
+        predictor.onPageSelected(5);
+
+        assertTrue(predictor.predict(page, 0, 9) < 3);
+    }
+
+    @Test
+    public void onScrollStateChanged_dragForgetsSettleTarget() {
+        ScrollPredictor predictor = new ScrollPredictor();
+        float page = scroll(predictor, 1, 0.01f, 20);
+        predictor.onPageSelected(1);
+        predictor.onScrollStateChanged(PagerSource.SCROLL_STATE_DRAGGING);
+
+        assertTrue(predictor.predict(page, 0, 9) > page);
+    }
+
+    @Test
+    public void onScrollStateChanged_idleResetsVelocity() {
+        ScrollPredictor predictor = new ScrollPredictor();
+        float page = scroll(predictor, 1, 0.01f, 20);
+        predictor.onScrollStateChanged(PagerSource.SCROLL_STATE_IDLE);
+
+        assertEquals(page, predictor.predict(page, 0, 9), EPSILON);
+    }
+
+    /**
+     * Scroll by a constant step each frame, from the middle of the start page
+     *
+     * @return the last scroll position in pages
+     */
+    private static float scroll(ScrollPredictor predictor, int startPage, float stepPerFrame, int frames) {
+        float page = startPage + 0.5f;
+        for (int i = 0; i < frames; i++) {
+            page = startPage + 0.5f + stepPerFrame * i;
+            int position = (int) Math.floor(page);
+            predictor.onScrolled(position, page - position, START_NANOS + i * FRAME_NANOS);
+        }
+        return page;
+    }
+}